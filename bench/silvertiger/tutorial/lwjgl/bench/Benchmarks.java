@@ -0,0 +1,66 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.bench;
+
+import silvertiger.tutorial.lwjgl.graphic.GLBackends;
+import silvertiger.tutorial.lwjgl.graphic.GLStateCache;
+import silvertiger.tutorial.lwjgl.graphic.RecordingBackend;
+
+/**
+ * This class contains helpers shared by the benchmarks.
+ *
+ * @author Heiko Brumme
+ */
+public final class Benchmarks {
+
+    /**
+     * Width of the simulated framebuffer.
+     */
+    public static final int WIDTH = 640;
+    /**
+     * Height of the simulated framebuffer.
+     */
+    public static final int HEIGHT = 480;
+
+    /**
+     * This class only contains static methods.
+     */
+    private Benchmarks() {
+    }
+
+    /**
+     * Replaces the OpenGL backend with a recording backend that only counts
+     * the calls, so that the benchmarks measure the CPU side without a
+     * context. Like the default backend it is wrapped in a state cache.
+     *
+     * @return The installed backend
+     */
+    public static RecordingBackend stubOpenGL() {
+        RecordingBackend backend = new RecordingBackend(WIDTH, HEIGHT);
+        backend.setRecording(false);
+        GLBackends.set(new GLStateCache(backend));
+        return backend;
+    }
+
+}
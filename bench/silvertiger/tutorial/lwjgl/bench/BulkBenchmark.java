@@ -0,0 +1,127 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import silvertiger.tutorial.lwjgl.math.bulk.BulkKernels;
+import silvertiger.tutorial.lwjgl.math.bulk.BulkOps;
+import silvertiger.tutorial.lwjgl.math.bulk.ScalarKernels;
+
+/**
+ * Compares the scalar bulk kernels with the kernels picked by
+ * <code>BulkOps</code>, which are vectorized if the Vector API is available.
+ * One operation is one point, position or box.
+ *
+ * @author Heiko Brumme
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkBenchmark {
+
+    /**
+     * Number of elements processed per invocation.
+     */
+    public static final int ELEMENTS = 10000;
+
+    @Param({"scalar", "default"})
+    public String kernels;
+
+    private BulkKernels bulk;
+
+    private float[] points;
+    private float[] transformed;
+    private float[] positions;
+    private float[] velocities;
+    private float[] minXs, minYs, maxXs, maxYs;
+    private boolean[] hits;
+
+    @Setup
+    public void setup() {
+        bulk = "scalar".equals(kernels) ? new ScalarKernels() : BulkOps.getKernels();
+
+        Random random = new Random(42L);
+        points = new float[ELEMENTS * 2];
+        transformed = new float[ELEMENTS * 2];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = random.nextFloat() * Benchmarks.WIDTH;
+        }
+
+        positions = new float[ELEMENTS];
+        velocities = new float[ELEMENTS];
+        for (int i = 0; i < ELEMENTS; i++) {
+            positions[i] = random.nextFloat() * Benchmarks.WIDTH;
+            velocities[i] = random.nextFloat() * 250f - 125f;
+        }
+
+        minXs = new float[ELEMENTS];
+        minYs = new float[ELEMENTS];
+        maxXs = new float[ELEMENTS];
+        maxYs = new float[ELEMENTS];
+        hits = new boolean[ELEMENTS];
+        for (int i = 0; i < ELEMENTS; i++) {
+            minXs[i] = random.nextFloat() * Benchmarks.WIDTH;
+            minYs[i] = random.nextFloat() * Benchmarks.HEIGHT;
+            maxXs[i] = minXs[i] + 16f;
+            maxYs[i] = minYs[i] + 16f;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public float[] transform() {
+        bulk.transform(0.8f, -0.6f, 320f, 0.6f, 0.8f, 240f, points, 0, transformed, 0, ELEMENTS);
+        return transformed;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public float[] integrate() {
+        bulk.integrate(positions, velocities, 0, ELEMENTS, 1f / 60f);
+        return positions;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public int overlaps() {
+        return bulk.overlaps(300f, 200f, 340f, 280f, minXs, minYs, maxXs, maxYs, 0, ELEMENTS, hits);
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import silvertiger.tutorial.lwjgl.game.Ball;
+import silvertiger.tutorial.lwjgl.graphic.Color;
+import silvertiger.tutorial.lwjgl.math.FastRandom;
+
+/**
+ * Measures the entity update. One operation is the update of one entity, the
+ * entities do not need a texture for updating so no backend is involved.
+ *
+ * @author Heiko Brumme
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityBenchmark {
+
+    /**
+     * Number of entities updated per invocation.
+     */
+    public static final int ENTITIES = 1000;
+
+    private Ball[] balls;
+
+    @Setup
+    public void setup() {
+        balls = new Ball[ENTITIES];
+        FastRandom random = new FastRandom(42L);
+        for (int i = 0; i < ENTITIES; i++) {
+            balls[i] = new Ball(Color.WHITE, null, Benchmarks.WIDTH / 2f, Benchmarks.HEIGHT / 2f, 250f, random);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTITIES)
+    public void update() {
+        for (Ball ball : balls) {
+            ball.update(1f / 30f);
+            ball.checkBorderCollision(Benchmarks.WIDTH, Benchmarks.HEIGHT);
+        }
+    }
+
+}
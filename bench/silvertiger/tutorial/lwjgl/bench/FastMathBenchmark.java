@@ -0,0 +1,185 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import silvertiger.tutorial.lwjgl.math.FastMath;
+import silvertiger.tutorial.lwjgl.math.FastRandom;
+
+/**
+ * Compares the approximations of FastMath and the FastRandom generator with
+ * the functions of java.lang.Math and the JDK generators. One operation is
+ * one function call.
+ *
+ * @author Heiko Brumme
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FastMathBenchmark {
+
+    /**
+     * Number of arguments per invocation.
+     */
+    public static final int COUNT = 1024;
+
+    private float[] angles;
+    private float[] xs;
+    private float[] ys;
+
+    private FastRandom fastRandom;
+    private SplittableRandom splittableRandom;
+
+    @Setup
+    public void setup() {
+        FastRandom random = new FastRandom(42L);
+        angles = new float[COUNT];
+        xs = new float[COUNT];
+        ys = new float[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            angles[i] = random.nextFloat(-FastMath.TWO_PI, FastMath.TWO_PI);
+            xs[i] = random.nextFloat(-1f, 1f);
+            ys[i] = random.nextFloat(-1f, 1f);
+        }
+        fastRandom = new FastRandom(42L);
+        splittableRandom = new SplittableRandom(42L);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public float fastSin() {
+        float sum = 0f;
+        for (int i = 0; i < COUNT; i++) {
+            sum += FastMath.sin(angles[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public float mathSin() {
+        float sum = 0f;
+        for (int i = 0; i < COUNT; i++) {
+            sum += (float) Math.sin(angles[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public float fastCos() {
+        float sum = 0f;
+        for (int i = 0; i < COUNT; i++) {
+            sum += FastMath.cos(angles[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public float mathCos() {
+        float sum = 0f;
+        for (int i = 0; i < COUNT; i++) {
+            sum += (float) Math.cos(angles[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public float fastAtan2() {
+        float sum = 0f;
+        for (int i = 0; i < COUNT; i++) {
+            sum += FastMath.atan2(ys[i], xs[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public float mathAtan2() {
+        float sum = 0f;
+        for (int i = 0; i < COUNT; i++) {
+            sum += (float) Math.atan2(ys[i], xs[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public float fastRandomFloat() {
+        float sum = 0f;
+        for (int i = 0; i < COUNT; i++) {
+            sum += fastRandom.nextFloat();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public float splittableRandomFloat() {
+        float sum = 0f;
+        for (int i = 0; i < COUNT; i++) {
+            sum += (float) splittableRandom.nextDouble();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public float threadLocalRandomFloat() {
+        float sum = 0f;
+        for (int i = 0; i < COUNT; i++) {
+            sum += ThreadLocalRandom.current().nextFloat();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public float mathRandom() {
+        float sum = 0f;
+        for (int i = 0; i < COUNT; i++) {
+            sum += (float) Math.random();
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import silvertiger.tutorial.lwjgl.graphic.Renderer;
+import silvertiger.tutorial.lwjgl.text.Font;
+
+/**
+ * Measures text layout and drawing of the bitmap font against a stubbed
+ * backend.
+ *
+ * @author Heiko Brumme
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class FontBenchmark {
+
+    public String text = "The quick brown fox jumps over the lazy dog.\n0123456789 FPS: 60 | UPS: 30";
+
+    private Renderer renderer;
+    private Font font;
+
+    @Setup
+    public void setup() {
+        Benchmarks.stubOpenGL();
+        renderer = new Renderer();
+        renderer.init();
+        font = new Font(16);
+    }
+
+    @TearDown
+    public void tearDown() {
+        font.dispose();
+        renderer.dispose();
+    }
+
+    @Benchmark
+    public void drawText() {
+        renderer.begin();
+        font.drawText(renderer, text, 16, 16);
+        renderer.end();
+    }
+
+    @Benchmark
+    public int getWidth() {
+        return font.getWidth(text);
+    }
+
+    @Benchmark
+    public int getHeight() {
+        return font.getHeight(text);
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import silvertiger.tutorial.lwjgl.math.Matrix4f;
+import silvertiger.tutorial.lwjgl.math.Vector2f;
+import silvertiger.tutorial.lwjgl.math.Vector3f;
+import silvertiger.tutorial.lwjgl.math.Vector4f;
+
+/**
+ * Measures the operations of the math package that are used per frame.
+ *
+ * @author Heiko Brumme
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MathBenchmark {
+
+    public Vector2f a2 = new Vector2f(3f, 4f);
+    public Vector2f b2 = new Vector2f(-1f, 2f);
+    public Vector3f a3 = new Vector3f(1f, 2f, 3f);
+    public Vector3f b3 = new Vector3f(-3f, 0.5f, 2f);
+    public Vector4f v4 = new Vector4f(1f, 2f, 3f, 1f);
+    public Matrix4f m = Matrix4f.rotate(30f, 0f, 0f, 1f);
+    public Matrix4f n = Matrix4f.translate(5f, -2f, 1f);
+    public float alpha = 0.25f;
+
+    public Vector2f dest2 = new Vector2f();
+    public Vector4f dest4 = new Vector4f();
+    public Matrix4f dest = new Matrix4f();
+
+    @Benchmark
+    public Vector2f vector2Add() {
+        return a2.add(b2);
+    }
+
+    @Benchmark
+    public Vector2f vector2Normalize() {
+        return a2.normalize();
+    }
+
+    @Benchmark
+    public Vector2f vector2Lerp() {
+        return a2.lerp(b2, alpha);
+    }
+
+    @Benchmark
+    public Vector2f vector2AddDest() {
+        return a2.add(b2, dest2);
+    }
+
+    @Benchmark
+    public Vector2f vector2LerpDest() {
+        return a2.lerp(b2, alpha, dest2);
+    }
+
+    @Benchmark
+    public Vector3f vector3Cross() {
+        return a3.cross(b3);
+    }
+
+    @Benchmark
+    public Matrix4f matrix4Multiply() {
+        return m.multiply(n);
+    }
+
+    @Benchmark
+    public Matrix4f matrix4MultiplyDest() {
+        return m.multiply(n, dest);
+    }
+
+    @Benchmark
+    public Matrix4f matrix4MulAffine() {
+        return m.mulAffine(n, dest);
+    }
+
+    @Benchmark
+    public Vector4f matrix4TransformDest() {
+        return m.multiply(v4, dest4);
+    }
+
+    @Benchmark
+    public Vector4f matrix4Transform() {
+        return m.multiply(v4);
+    }
+
+    @Benchmark
+    public Matrix4f matrix4Orthographic() {
+        return Matrix4f.orthographic(0f, Benchmarks.WIDTH, 0f, Benchmarks.HEIGHT, -1f, 1f);
+    }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.lwjgl.BufferUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import silvertiger.tutorial.lwjgl.graphic.Color;
+import silvertiger.tutorial.lwjgl.graphic.Renderer;
+import silvertiger.tutorial.lwjgl.graphic.RendererSettings;
+import silvertiger.tutorial.lwjgl.graphic.SpriteMode;
+import silvertiger.tutorial.lwjgl.graphic.Texture;
+import silvertiger.tutorial.lwjgl.math.Matrix3x2f;
+
+/**
+ * Measures the sprites per second the renderer can batch. One operation is
+ * one sprite, the batch gets written to the off-heap vertex buffer and flushed
+ * to a stubbed backend. The vertex layouts are compared with quads, the
+ * sprite modes with axis aligned sprites, since only quads can be
+ * transformed.
+ *
+ * @author Heiko Brumme
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RendererBenchmark {
+
+    /**
+     * Number of sprites drawn per invocation.
+     */
+    public static final int SPRITES = 10000;
+
+    /**
+     * A quad renderer with either vertex layout.
+     */
+    @State(Scope.Thread)
+    public static class Quads {
+
+        @Param({"false", "true"})
+        public boolean packed;
+
+        private Renderer renderer;
+        private Texture texture;
+        private final Matrix3x2f transform = new Matrix3x2f();
+
+        @Setup
+        public void setup() {
+            Benchmarks.stubOpenGL();
+            renderer = new Renderer(new RendererSettings().setPacked(packed));
+            renderer.init();
+            texture = Texture.createTexture(64, 64, BufferUtils.createByteBuffer(64 * 64 * 4));
+        }
+
+        @TearDown
+        public void tearDown() {
+            texture.delete();
+            renderer.dispose();
+        }
+
+    }
+
+    /**
+     * A renderer with one of the sprite modes. Without a context the
+     * instanced and geometry shader modes only measure the submission on the
+     * CPU, the smaller vertex records are their main saving there.
+     */
+    @State(Scope.Thread)
+    public static class Sprites {
+
+        @Param({"QUADS", "INSTANCED", "POINTS"})
+        public SpriteMode mode;
+
+        private Renderer renderer;
+        private Texture texture;
+
+        @Setup
+        public void setup() {
+            Benchmarks.stubOpenGL();
+            renderer = new Renderer(new RendererSettings().setSpriteMode(mode));
+            renderer.init();
+            texture = Texture.createTexture(64, 64, BufferUtils.createByteBuffer(64 * 64 * 4));
+        }
+
+        @TearDown
+        public void tearDown() {
+            texture.delete();
+            renderer.dispose();
+        }
+
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SPRITES)
+    public void drawTextureRegion(Quads quads) {
+        draw(quads.renderer, quads.texture);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SPRITES)
+    public void drawTransformedTextureRegion(Quads quads) {
+        Renderer renderer = quads.renderer;
+        Matrix3x2f transform = quads.transform;
+        renderer.begin();
+        for (int i = 0; i < SPRITES; i++) {
+            float x = (i * 16) % Benchmarks.WIDTH;
+            float y = (i / 40 * 16) % Benchmarks.HEIGHT;
+            transform.setIdentity();
+            transform.translateLocal(x, y).rotateLocal(i).scaleLocal(1.5f, 1.5f);
+            renderer.drawTextureRegion(quads.texture, transform, 0, 0, 16, 16, Color.WHITE);
+        }
+        renderer.end();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SPRITES)
+    public void drawSprites(Sprites sprites) {
+        draw(sprites.renderer, sprites.texture);
+    }
+
+    /**
+     * Draws a grid of axis aligned sprites in one batch.
+     *
+     * @param renderer The renderer to use
+     * @param texture  The texture of the sprites
+     */
+    private static void draw(Renderer renderer, Texture texture) {
+        renderer.begin();
+        for (int i = 0; i < SPRITES; i++) {
+            float x = (i * 16) % Benchmarks.WIDTH;
+            float y = (i / 40 * 16) % Benchmarks.HEIGHT;
+            renderer.drawTextureRegion(texture, x, y, 0, 0, 16, 16, Color.WHITE);
+        }
+        renderer.end();
+    }
+
+}
@@ -0,0 +1,18 @@
+#version 150 core
+
+#include "transform.glsl"
+
+in vec2 corner;
+in vec4 rect;
+in vec4 uvrect;
+in vec4 color;
+
+out vec4 vertexColor;
+out vec2 textureCoord;
+
+void main() {
+    vertexColor = color;
+    textureCoord = mix(uvrect.xy, uvrect.zw, corner);
+    vec2 position = mix(rect.xy, rect.zw, corner);
+    gl_Position = transform(position);
+}
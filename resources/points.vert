@@ -0,0 +1,17 @@
+#version 150 core
+
+in vec4 rect;
+in vec4 uvrect;
+in vec4 color;
+
+out vec4 spriteRect;
+out vec4 spriteTexRect;
+out vec4 spriteColor;
+
+void main() {
+    /* The quad gets built by the geometry shader */
+    spriteRect = rect;
+    spriteTexRect = uvrect;
+    spriteColor = color;
+    gl_Position = vec4(rect.xy, 0.0, 1.0);
+}
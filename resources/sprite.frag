@@ -0,0 +1,61 @@
+#version 150 core
+
+IN vec4 vertexColor;
+IN vec2 textureCoord;
+#ifdef MULTITEXTURE
+FLAT IN float textureSlot;
+#endif
+
+#ifdef CORE
+out vec4 fragColor;
+#endif
+
+#ifdef MULTITEXTURE
+uniform sampler2D textures[8];
+#else
+uniform sampler2D texImage;
+#endif
+#ifdef TINT
+uniform vec4 tint;
+#endif
+#ifdef ALPHA_TEST
+uniform float alphaThreshold;
+#endif
+
+vec4 sampleTexture() {
+#ifdef MULTITEXTURE
+    /* Sampler arrays may only be indexed with constant expressions */
+    int slot = int(textureSlot + 0.5);
+    if (slot == 0) {
+        return texture(textures[0], textureCoord);
+    } else if (slot == 1) {
+        return texture(textures[1], textureCoord);
+    } else if (slot == 2) {
+        return texture(textures[2], textureCoord);
+    } else if (slot == 3) {
+        return texture(textures[3], textureCoord);
+    } else if (slot == 4) {
+        return texture(textures[4], textureCoord);
+    } else if (slot == 5) {
+        return texture(textures[5], textureCoord);
+    } else if (slot == 6) {
+        return texture(textures[6], textureCoord);
+    }
+    return texture(textures[7], textureCoord);
+#else
+    return texture(texImage, textureCoord);
+#endif
+}
+
+void main() {
+    vec4 color = vertexColor * sampleTexture();
+#ifdef TINT
+    color *= tint;
+#endif
+#ifdef ALPHA_TEST
+    if (color.a < alphaThreshold) {
+        discard;
+    }
+#endif
+    fragColor = color;
+}
@@ -0,0 +1,25 @@
+#version 150 core
+
+#include "transform.glsl"
+
+IN vec2 position;
+IN vec4 color;
+IN vec2 texcoord;
+#ifdef MULTITEXTURE
+IN float texslot;
+#endif
+
+OUT vec4 vertexColor;
+OUT vec2 textureCoord;
+#ifdef MULTITEXTURE
+FLAT OUT float textureSlot;
+#endif
+
+void main() {
+    vertexColor = color;
+    textureCoord = texcoord;
+#ifdef MULTITEXTURE
+    textureSlot = texslot;
+#endif
+    gl_Position = transform(position);
+}
@@ -0,0 +1,11 @@
+#ifdef CORE
+layout(std140) uniform Matrices {
+    mat4 mvp;
+};
+#else
+uniform mat4 mvp;
+#endif
+
+vec4 transform(vec2 position) {
+    return mvp * vec4(position, 0.0, 1.0);
+}
@@ -0,0 +1,176 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.math.bulk;
+
+import java.nio.FloatBuffer;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Bulk kernels written with the incubating Vector API. This class needs the
+ * module <code>jdk.incubator.vector</code> and gets only compiled on Java 16
+ * and newer. Only the array loads and stores are used, since these are the
+ * same in every release of the incubator module. The remainders that don't
+ * fill a whole vector are handled by the scalar kernels, which compute the
+ * same expressions in the same order, so both kernels give the same results.
+ *
+ * @author Heiko Brumme
+ */
+public class VectorKernels implements BulkKernels {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    /**
+     * Swaps the x and y value of each point.
+     */
+    private static final VectorShuffle<Float> SWAP = VectorShuffle.fromOp(SPECIES, i -> i ^ 1);
+
+    /**
+     * Number of floats that get copied from a buffer at once.
+     */
+    private static final int CHUNK_SIZE = 1024;
+
+    private final ScalarKernels scalar = new ScalarKernels();
+
+    /**
+     * Heap copies of the buffers, the loads and stores of the Vector API on
+     * buffers changed between Java versions while the array ones did not.
+     */
+    private final ThreadLocal<float[][]> chunks = ThreadLocal.withInitial(() -> new float[2][CHUNK_SIZE]);
+
+    @Override
+    public void transform(float m00, float m01, float m02, float m10, float m11, float m12,
+                          float[] src, int srcOffset, float[] dest, int destOffset, int count) {
+        /* Per lane the x values get m00, m01, m02 and the y values get m11, m10, m12 */
+        FloatVector diagonal = alternate(m00, m11);
+        FloatVector cross = alternate(m01, m10);
+        FloatVector translation = alternate(m02, m12);
+
+        int length = count * 2;
+        int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector points = FloatVector.fromArray(SPECIES, src, srcOffset + i);
+            FloatVector swapped = points.rearrange(SWAP);
+            points.mul(diagonal).add(swapped.mul(cross)).add(translation).intoArray(dest, destOffset + i);
+        }
+        scalar.transform(m00, m01, m02, m10, m11, m12, src, srcOffset + i, dest, destOffset + i, (length - i) / 2);
+    }
+
+    @Override
+    public void transform(float m00, float m01, float m02, float m10, float m11, float m12,
+                          FloatBuffer src, FloatBuffer dest, int count) {
+        int length = count * 2;
+        checkRemaining(src, length);
+        checkRemaining(dest, length);
+
+        /* Transform chunk by chunk on a heap copy, it is even so no point gets split */
+        float[] chunk = chunks.get()[0];
+        int srcIndex = src.position();
+        int destIndex = dest.position();
+        for (int i = 0; i < length; i += CHUNK_SIZE) {
+            int size = Math.min(CHUNK_SIZE, length - i);
+            src.get(srcIndex + i, chunk, 0, size);
+            transform(m00, m01, m02, m10, m11, m12, chunk, 0, chunk, 0, size / 2);
+            dest.put(destIndex + i, chunk, 0, size);
+        }
+    }
+
+    @Override
+    public void integrate(float[] positions, float[] velocities, int offset, int length, float delta) {
+        int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector position = FloatVector.fromArray(SPECIES, positions, offset + i);
+            FloatVector velocity = FloatVector.fromArray(SPECIES, velocities, offset + i);
+            position.add(velocity.mul(delta)).intoArray(positions, offset + i);
+        }
+        scalar.integrate(positions, velocities, offset + i, length - i, delta);
+    }
+
+    @Override
+    public void integrate(FloatBuffer positions, FloatBuffer velocities, int length, float delta) {
+        checkRemaining(positions, length);
+        checkRemaining(velocities, length);
+
+        float[][] chunk = chunks.get();
+        int positionIndex = positions.position();
+        int velocityIndex = velocities.position();
+        for (int i = 0; i < length; i += CHUNK_SIZE) {
+            int size = Math.min(CHUNK_SIZE, length - i);
+            positions.get(positionIndex + i, chunk[0], 0, size);
+            velocities.get(velocityIndex + i, chunk[1], 0, size);
+            integrate(chunk[0], chunk[1], 0, size, delta);
+            positions.put(positionIndex + i, chunk[0], 0, size);
+        }
+    }
+
+    @Override
+    public int overlaps(float minX, float minY, float maxX, float maxY,
+                        float[] minXs, float[] minYs, float[] maxXs, float[] maxYs,
+                        int offset, int count, boolean[] result) {
+        int hits = 0;
+        int bound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            int index = offset + i;
+            VectorMask<Float> miss = FloatVector.fromArray(SPECIES, minXs, index).compare(VectorOperators.GT, maxX)
+                    .or(FloatVector.fromArray(SPECIES, minYs, index).compare(VectorOperators.GT, maxY))
+                    .or(FloatVector.fromArray(SPECIES, maxXs, index).compare(VectorOperators.LT, minX))
+                    .or(FloatVector.fromArray(SPECIES, maxYs, index).compare(VectorOperators.LT, minY));
+            VectorMask<Float> hit = miss.not();
+            hit.intoArray(result, index);
+            hits += hit.trueCount();
+        }
+        return hits + scalar.overlaps(minX, minY, maxX, maxY, minXs, minYs, maxXs, maxYs, offset + i, count - i, result);
+    }
+
+    /**
+     * Creates a vector with alternating values.
+     *
+     * @param even Value of the lanes with an even index
+     * @param odd  Value of the lanes with an odd index
+     *
+     * @return Vector with alternating values
+     */
+    private static FloatVector alternate(float even, float odd) {
+        return FloatVector.broadcast(SPECIES, even).blend(odd, VectorMask.fromLong(SPECIES, 0xAAAAAAAAAAAAAAAAL));
+    }
+
+    /**
+     * Checks if a buffer has enough floats remaining.
+     *
+     * @param buffer The float buffer
+     * @param length Number of floats needed
+     */
+    private static void checkRemaining(FloatBuffer buffer, int length) {
+        if (buffer.remaining() < length) {
+            throw new IndexOutOfBoundsException("Buffer has only " + buffer.remaining() + " floats remaining!");
+        }
+    }
+
+}
@@ -26,13 +26,14 @@
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.lwjgl.glfw.GLFWErrorCallback;
-import org.lwjgl.opengl.GL;
 import silvertiger.tutorial.lwjgl.state.StateMachine;
 import silvertiger.tutorial.lwjgl.state.ExampleState;
 import silvertiger.tutorial.lwjgl.state.LegacyExampleState;
 import silvertiger.tutorial.lwjgl.state.LegacyTextureState;
 import silvertiger.tutorial.lwjgl.state.TextureState;
 import silvertiger.tutorial.lwjgl.state.GameState;
+import silvertiger.tutorial.lwjgl.graphic.GLBackends;
+import silvertiger.tutorial.lwjgl.graphic.MatrixBlock;
 import silvertiger.tutorial.lwjgl.graphic.Renderer;
 import silvertiger.tutorial.lwjgl.graphic.Window;
 
@@ -106,6 +107,9 @@ public void dispose() {
         /* Set empty state to trigger the exit method in the current state */
         state.change(null);
 
+        /* Delete the shared matrix uniform block */
+        MatrixBlock.deleteShared();
+
         /* Release window and its callbacks */
         window.destroy();
 
@@ -192,6 +196,7 @@ public void update(float delta) {
      * Renders the game (no interpolation).
      */
     public void render() {
+        renderer.resetStatistics();
         state.render();
     }
 
@@ -201,6 +206,7 @@ public void render() {
      * @param alpha Alpha value, needed for interpolation
      */
     public void render(float alpha) {
+        renderer.resetStatistics();
         state.render(alpha);
     }
 
@@ -236,7 +242,7 @@ public void sync(int fps) {
      * @return true, if OpenGL context supports version 3.2, else false
      */
     public static boolean isDefaultContext() {
-        return GL.getCapabilities().OpenGL32;
+        return GLBackends.get().isOpenGL32();
     }
 
 }
@@ -23,6 +23,8 @@
  */
 package silvertiger.tutorial.lwjgl.core;
 
+import silvertiger.tutorial.lwjgl.graphic.RenderStats;
+
 /**
  * This class contains the implementation for a variable timestep game loop.
  *
@@ -57,10 +59,20 @@ public void gameLoop() {
             /* Update timer */
             timer.update();
 
-            /* Draw FPS, UPS and Context version */
+            /* Draw render statistics, FPS, UPS and Context version */
+            RenderStats stats = renderer.getStats();
+            String batchText = "Flushes: " + stats.getFlushes() + " (" + stats.getForcedFlushes() + " forced)"
+                               + " | Draw calls: " + stats.getDrawCalls() + " | Vertices: " + stats.getVertices();
+            String stateText = "Uploaded: " + stats.getBytesUploaded() / 1024 + " KiB"
+                               + " | Texture binds: " + stats.getTextureBinds()
+                               + " | Shader switches: " + stats.getShaderSwitches();
             int height = renderer.getDebugTextHeight("Context");
+            renderer.begin();
+            renderer.drawDebugText(batchText, 5, 5 + 3 * height);
+            renderer.drawDebugText(stateText, 5, 5 + 2 * height);
             renderer.drawDebugText("FPS: " + timer.getFPS() + " | UPS: " + timer.getUPS(), 5, 5 + height);
             renderer.drawDebugText("Context: " + (Game.isDefaultContext() ? "3.2 core" : "2.1"), 5, 5);
+            renderer.end();
 
             /* Update window to show the new screen */
             window.update();
@@ -25,7 +25,7 @@
 
 import silvertiger.tutorial.lwjgl.graphic.Color;
 import silvertiger.tutorial.lwjgl.graphic.Texture;
-import silvertiger.tutorial.lwjgl.math.Vector2f;
+import silvertiger.tutorial.lwjgl.math.FastRandom;
 
 import static silvertiger.tutorial.lwjgl.state.GameState.*;
 
@@ -36,23 +36,18 @@
  */
 public class Ball extends Entity {
 
-    public Ball(Color color, Texture texture, float x, float y, float speed) {
+    /**
+     * Direction component for a diagonal of 45 degrees.
+     */
+    private static final float DIAGONAL = (float) Math.cos(Math.toRadians(45.0));
+
+    private final FastRandom random;
+
+    public Ball(Color color, Texture texture, float x, float y, float speed, FastRandom random) {
         super(color, texture, x, y, speed, 20, 20, 20, 40);
+        this.random = random;
 
-        double rand = Math.random();
-        if (rand < 0.25) {
-            direction.x = (float) -Math.cos(Math.toRadians(45.0));
-            direction.y = (float) -Math.sin(Math.toRadians(45.0));
-        } else if (rand < 0.5) {
-            direction.x = (float) -Math.cos(Math.toRadians(45.0));
-            direction.y = (float) Math.sin(Math.toRadians(45.0));
-        } else if (rand < 0.75) {
-            direction.x = (float) Math.cos(Math.toRadians(45.0));
-            direction.y = (float) -Math.sin(Math.toRadians(45.0));
-        } else {
-            direction.x = (float) Math.cos(Math.toRadians(45.0));
-            direction.y = (float) Math.sin(Math.toRadians(45.0));
-        }
+        randomizeDirection();
     }
 
     /**
@@ -129,23 +124,18 @@ public boolean collidesWith(Paddle paddle) {
      * @param y y coordinate
      */
     public void reset(float x, float y) {
-        previousPosition = new Vector2f(x, y);
-        position = new Vector2f(x, y);
-
-        double rand = Math.random();
-        if (rand < 0.25) {
-            direction.x = (float) -Math.cos(Math.toRadians(45.0));
-            direction.y = (float) -Math.sin(Math.toRadians(45.0));
-        } else if (rand < 0.5) {
-            direction.x = (float) -Math.cos(Math.toRadians(45.0));
-            direction.y = (float) Math.sin(Math.toRadians(45.0));
-        } else if (rand < 0.75) {
-            direction.x = (float) Math.cos(Math.toRadians(45.0));
-            direction.y = (float) -Math.sin(Math.toRadians(45.0));
-        } else {
-            direction.x = (float) Math.cos(Math.toRadians(45.0));
-            direction.y = (float) Math.sin(Math.toRadians(45.0));
-        }
+        previousPosition.set(x, y);
+        position.set(x, y);
+
+        randomizeDirection();
+    }
+
+    /**
+     * Lets the ball move diagonally into a random direction.
+     */
+    private void randomizeDirection() {
+        direction.x = random.nextBoolean() ? DIAGONAL : -DIAGONAL;
+        direction.y = random.nextBoolean() ? DIAGONAL : -DIAGONAL;
     }
 
 }
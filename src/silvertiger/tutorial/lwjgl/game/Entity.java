@@ -43,6 +43,9 @@ public abstract class Entity {
     protected final float speed;
     protected Vector2f direction;
 
+    private final Vector2f velocity;
+    private final Vector2f interpolatedPosition;
+
     protected final Color color;
     protected final Texture texture;
 
@@ -61,6 +64,9 @@ public Entity(Color color, Texture texture, float x, float y, float speed, int w
         this.speed = speed;
         direction = new Vector2f();
 
+        velocity = new Vector2f();
+        interpolatedPosition = new Vector2f();
+
         this.color = color;
         this.texture = texture;
 
@@ -91,12 +97,12 @@ public void input() {
      * @param delta Time difference in seconds
      */
     public void update(float delta) {
-        previousPosition = new Vector2f(position.x, position.y);
+        previousPosition.set(position);
         if (direction.length() != 0) {
-            direction = direction.normalize();
+            direction.normalizeLocal();
         }
-        Vector2f velocity = direction.scale(speed);
-        position = position.add(velocity.scale(delta));
+        direction.scale(speed, velocity);
+        position.addLocal(velocity.scaleLocal(delta));
 
         aabb.min.x = position.x;
         aabb.min.y = position.y;
@@ -111,7 +117,7 @@ public void update(float delta) {
      * @param alpha    Alpha value, needed for interpolation
      */
     public void render(Renderer renderer, float alpha) {
-        Vector2f interpolatedPosition = previousPosition.lerp(position, alpha);
+        previousPosition.lerp(position, alpha, interpolatedPosition);
         float x = interpolatedPosition.x;
         float y = interpolatedPosition.y;
         renderer.drawTextureRegion(texture, x, y, tx, ty, width, height, color);
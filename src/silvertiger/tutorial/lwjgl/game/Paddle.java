@@ -26,7 +26,6 @@
 import org.lwjgl.glfw.GLFW;
 import silvertiger.tutorial.lwjgl.graphic.Color;
 import silvertiger.tutorial.lwjgl.graphic.Texture;
-import silvertiger.tutorial.lwjgl.math.Vector2f;
 
 import static org.lwjgl.glfw.GLFW.GLFW_KEY_DOWN;
 import static org.lwjgl.glfw.GLFW.GLFW_KEY_UP;
@@ -56,7 +55,7 @@ public Paddle(Color color, Texture texture, float x, float y, float speed, boole
      */
     @Override
     public void input(Entity entity) {
-        direction = new Vector2f();
+        direction.set(0f, 0f);
         if (player) {
             /* Player input */
             long window = GLFW.glfwGetCurrentContext();
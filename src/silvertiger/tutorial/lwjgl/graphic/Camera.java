@@ -0,0 +1,139 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.graphic;
+
+import silvertiger.tutorial.lwjgl.math.Matrix4f;
+
+/**
+ * This class holds the model, view and projection matrices and combines them
+ * on the CPU. The combined matrix only gets recalculated after one of the
+ * matrices changed, so the shaders just need one matrix-vector product per
+ * vertex.
+ *
+ * @author Heiko Brumme
+ */
+public class Camera {
+
+    private final Matrix4f model;
+    private final Matrix4f view;
+    private final Matrix4f projection;
+
+    private final Matrix4f mvp;
+    private boolean dirty;
+
+    /**
+     * Creates a camera with identity matrices.
+     */
+    public Camera() {
+        model = new Matrix4f();
+        view = new Matrix4f();
+        projection = new Matrix4f();
+        mvp = new Matrix4f();
+        dirty = false;
+    }
+
+    /**
+     * Sets the model matrix, the values get copied.
+     *
+     * @param model The model matrix
+     */
+    public void setModel(Matrix4f model) {
+        this.model.set(model);
+        dirty = true;
+    }
+
+    /**
+     * Sets the view matrix, the values get copied.
+     *
+     * @param view The view matrix
+     */
+    public void setView(Matrix4f view) {
+        this.view.set(view);
+        dirty = true;
+    }
+
+    /**
+     * Sets the projection matrix, the values get copied.
+     *
+     * @param projection The projection matrix
+     */
+    public void setProjection(Matrix4f projection) {
+        this.projection.set(projection);
+        dirty = true;
+    }
+
+    /**
+     * Gets the model matrix. Changes to the returned matrix only take effect
+     * after passing it to {@link #setModel(Matrix4f)}.
+     *
+     * @return The model matrix
+     */
+    public Matrix4f getModel() {
+        return model;
+    }
+
+    /**
+     * Gets the view matrix. Changes to the returned matrix only take effect
+     * after passing it to {@link #setView(Matrix4f)}.
+     *
+     * @return The view matrix
+     */
+    public Matrix4f getView() {
+        return view;
+    }
+
+    /**
+     * Gets the projection matrix. Changes to the returned matrix only take
+     * effect after passing it to {@link #setProjection(Matrix4f)}.
+     *
+     * @return The projection matrix
+     */
+    public Matrix4f getProjection() {
+        return projection;
+    }
+
+    /**
+     * Checks if a matrix changed since the combined matrix was calculated.
+     *
+     * @return true if the combined matrix is outdated
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Gets the combined model-view-projection matrix, it gets recalculated in
+     * place if one of the matrices changed.
+     *
+     * @return The combined matrix
+     */
+    public Matrix4f getMVP() {
+        if (dirty) {
+            projection.multiply(view, mvp).multiplyLocal(model);
+            dirty = false;
+        }
+        return mvp;
+    }
+
+}
@@ -0,0 +1,257 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.graphic;
+
+import java.util.Arrays;
+
+/**
+ * This class records draw commands for deferred rendering and sorts them by
+ * their sort key. The sort key is built from layer, shader, texture and depth,
+ * in that order of significance.
+ *
+ * @author Heiko Brumme
+ */
+class DrawQueue {
+
+    /**
+     * Number of floats stored per command, these are the corners of the quad,
+     * the texture coordinates and the color.
+     */
+    static final int STRIDE = 16;
+
+    private long[] keys;
+    private float[] data;
+    private int size;
+
+    private int[] order;
+    private int[] temp;
+    private final int[] counts;
+
+    private Texture[] textures;
+    private int numTextures;
+
+    /**
+     * Creates a draw queue with space for specified number of commands. The
+     * queue grows if more commands get added.
+     *
+     * @param capacity Initial number of commands
+     */
+    DrawQueue(int capacity) {
+        keys = new long[capacity];
+        data = new float[capacity * STRIDE];
+        order = new int[capacity];
+        temp = new int[capacity];
+        counts = new int[256];
+
+        /* Texture index 0 stands for the currently bound texture */
+        textures = new Texture[16];
+        numTextures = 1;
+    }
+
+    /**
+     * Adds a command to the queue.
+     *
+     * @param layer   Layer of the quad, ranging from 0 to 255
+     * @param shader  Shader index of the quad, ranging from 0 to 255
+     * @param texture Texture of the quad, may be null
+     * @param depth   Depth of the quad inside its layer and texture
+     * @param x1      Bottom left x position
+     * @param y1      Bottom left y position
+     * @param x2      Top left x position
+     * @param y2      Top left y position
+     * @param x3      Top right x position
+     * @param y3      Top right y position
+     * @param x4      Bottom right x position
+     * @param y4      Bottom right y position
+     * @param s1      Bottom left s coordinate
+     * @param t1      Bottom left t coordinate
+     * @param s2      Top right s coordinate
+     * @param t2      Top right t coordinate
+     * @param c       The color to use
+     */
+    void add(int layer, int shader, Texture texture, float depth,
+             float x1, float y1, float x2, float y2,
+             float x3, float y3, float x4, float y4,
+             float s1, float t1, float s2, float t2, Color c) {
+        if (size == keys.length) {
+            int capacity = size * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            data = Arrays.copyOf(data, capacity * STRIDE);
+            order = new int[capacity];
+            temp = new int[capacity];
+        }
+
+        /* Flip the sign bit of positive floats and all bits of negative
+         * floats, so that the bits sort in the same order as the floats */
+        int depthBits = Float.floatToIntBits(depth);
+        depthBits ^= (depthBits >> 31) | 0x80000000;
+
+        keys[size] = ((long) layer << 56)
+                     | ((long) shader << 48)
+                     | ((long) indexOf(texture) << 32)
+                     | (depthBits & 0xFFFFFFFFL);
+
+        int offset = size * STRIDE;
+        data[offset] = x1;
+        data[offset + 1] = y1;
+        data[offset + 2] = x2;
+        data[offset + 3] = y2;
+        data[offset + 4] = x3;
+        data[offset + 5] = y3;
+        data[offset + 6] = x4;
+        data[offset + 7] = y4;
+        data[offset + 8] = s1;
+        data[offset + 9] = t1;
+        data[offset + 10] = s2;
+        data[offset + 11] = t2;
+        data[offset + 12] = c.getRed();
+        data[offset + 13] = c.getGreen();
+        data[offset + 14] = c.getBlue();
+        data[offset + 15] = c.getAlpha();
+
+        size++;
+    }
+
+    /**
+     * Gets the index of a texture in this queue, adding it if necessary.
+     *
+     * @param texture The texture
+     *
+     * @return Index of the texture
+     */
+    private int indexOf(Texture texture) {
+        if (texture == null) {
+            return 0;
+        }
+        for (int i = numTextures - 1; i > 0; i--) {
+            if (textures[i] == texture) {
+                return i;
+            }
+        }
+        if (numTextures == 0x10000) {
+            throw new IllegalStateException("Too many textures in one batch!");
+        }
+        if (numTextures == textures.length) {
+            textures = Arrays.copyOf(textures, numTextures * 2);
+        }
+        textures[numTextures] = texture;
+        return numTextures++;
+    }
+
+    /**
+     * Sorts the commands by their key with a least significant digit radix
+     * sort. The sort is stable, so commands with the same key keep the order in
+     * which they were added.
+     */
+    void sort() {
+        int[] src = order;
+        int[] dst = temp;
+        for (int i = 0; i < size; i++) {
+            src[i] = i;
+        }
+
+        for (int shift = 0; shift < Long.SIZE && size > 0; shift += 8) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < size; i++) {
+                counts[(int) (keys[src[i]] >>> shift) & 0xFF]++;
+            }
+
+            /* Skip the pass if all keys have the same digit */
+            if (counts[(int) (keys[src[0]] >>> shift) & 0xFF] == size) {
+                continue;
+            }
+
+            /* Calculate the start of each bucket */
+            int sum = 0;
+            for (int i = 0; i < counts.length; i++) {
+                int count = counts[i];
+                counts[i] = sum;
+                sum += count;
+            }
+
+            for (int i = 0; i < size; i++) {
+                int command = src[i];
+                dst[counts[(int) (keys[command] >>> shift) & 0xFF]++] = command;
+            }
+
+            int[] swap = src;
+            src = dst;
+            dst = swap;
+        }
+
+        order = src;
+        temp = dst;
+    }
+
+    /**
+     * Gets the command at specified position of the sorted queue.
+     *
+     * @param index Position in the sorted queue
+     *
+     * @return Index of the command
+     */
+    int getCommand(int index) {
+        return order[index];
+    }
+
+    /**
+     * Gets the texture of specified command.
+     *
+     * @param command Index of the command
+     *
+     * @return Texture of the command, may be null
+     */
+    Texture getTexture(int command) {
+        return textures[(int) (keys[command] >>> 32) & 0xFFFF];
+    }
+
+    /**
+     * Gets the data of all commands, every command starts at its index
+     * multiplied by <code>STRIDE</code>.
+     *
+     * @return Command data
+     */
+    float[] getData() {
+        return data;
+    }
+
+    /**
+     * Gets the number of commands in the queue.
+     *
+     * @return Number of commands
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes all commands and textures from the queue.
+     */
+    void clear() {
+        size = 0;
+        Arrays.fill(textures, 1, numTextures, null);
+        numTextures = 1;
+    }
+
+}
@@ -0,0 +1,193 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.graphic;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * This interface contains the OpenGL functions used by the graphic classes.
+ * The methods have the same names and parameters as the OpenGL functions, so
+ * that the calls read like plain OpenGL. The backend in use can be set with
+ * <code>GLBackends.set()</code>.
+ *
+ * @author Heiko Brumme
+ */
+public interface GLBackend {
+
+    /* Context */
+    boolean isOpenGL32();
+
+    boolean hasVertexAttribDivisor();
+
+    boolean hasProgramBinary();
+
+    void getFramebufferSize(IntBuffer width, IntBuffer height);
+
+    /* State and drawing */
+    void glEnable(int target);
+
+    void glBlendFunc(int sfactor, int dfactor);
+
+    void glClear(int mask);
+
+    int glGetInteger(int pname);
+
+    String glGetString(int name);
+
+    void glDrawArrays(int mode, int first, int count);
+
+    void glDrawArraysInstanced(int mode, int first, int count, int primcount);
+
+    void glDrawElements(int mode, int count, int type, long indices);
+
+    void glDrawElementsBaseVertex(int mode, int count, int type, long indices, int basevertex);
+
+    /* Sync objects */
+    long glFenceSync(int condition, int flags);
+
+    int glClientWaitSync(long sync, int flags, long timeout);
+
+    void glDeleteSync(long sync);
+
+    /* Textures */
+    int glGenTextures();
+
+    void glActiveTexture(int texture);
+
+    void glBindTexture(int target, int texture);
+
+    void glTexParameteri(int target, int pname, int param);
+
+    void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, ByteBuffer pixels);
+
+    void glDeleteTextures(int texture);
+
+    /* Buffer objects */
+    int glGenBuffers();
+
+    void glBindBuffer(int target, int buffer);
+
+    void glBindBufferBase(int target, int index, int buffer);
+
+    void glBufferData(int target, long size, int usage);
+
+    void glBufferData(int target, ByteBuffer data, int usage);
+
+    void glBufferData(int target, FloatBuffer data, int usage);
+
+    void glBufferData(int target, IntBuffer data, int usage);
+
+    void glBufferSubData(int target, long offset, ByteBuffer data);
+
+    void glBufferSubData(int target, long offset, FloatBuffer data);
+
+    ByteBuffer glMapBufferRange(int target, long offset, long length, int access);
+
+    boolean glUnmapBuffer(int target);
+
+    void glDeleteBuffers(int buffer);
+
+    /* Vertex array objects */
+    int glGenVertexArrays();
+
+    void glBindVertexArray(int array);
+
+    void glDeleteVertexArrays(int array);
+
+    /* Shaders */
+    int glCreateShader(int type);
+
+    void glShaderSource(int shader, CharSequence string);
+
+    void glCompileShader(int shader);
+
+    int glGetShaderi(int shader, int pname);
+
+    String glGetShaderInfoLog(int shader);
+
+    void glDeleteShader(int shader);
+
+    /* Shader programs */
+    int glCreateProgram();
+
+    void glAttachShader(int program, int shader);
+
+    void glBindFragDataLocation(int program, int colorNumber, CharSequence name);
+
+    void glLinkProgram(int program);
+
+    int glGetProgrami(int program, int pname);
+
+    String glGetProgramInfoLog(int program);
+
+    String glGetActiveUniform(int program, int index, IntBuffer size, IntBuffer type);
+
+    String glGetActiveAttrib(int program, int index, IntBuffer size, IntBuffer type);
+
+    void glProgramParameteri(int program, int pname, int value);
+
+    void glGetProgramBinary(int program, IntBuffer length, IntBuffer binaryFormat, ByteBuffer binary);
+
+    void glProgramBinary(int program, int binaryFormat, ByteBuffer binary);
+
+    void glUseProgram(int program);
+
+    void glDeleteProgram(int program);
+
+    /* Vertex attributes */
+    int glGetAttribLocation(int program, CharSequence name);
+
+    void glEnableVertexAttribArray(int index);
+
+    void glDisableVertexAttribArray(int index);
+
+    void glVertexAttribPointer(int index, int size, int type, boolean normalized, int stride, long pointer);
+
+    void glVertexAttribDivisor(int index, int divisor);
+
+    /* Uniforms */
+    int glGetUniformLocation(int program, CharSequence name);
+
+    int glGetUniformBlockIndex(int program, CharSequence name);
+
+    void glUniformBlockBinding(int program, int index, int binding);
+
+    void glUniform1i(int location, int v0);
+
+    /* Uniforms read from an off-heap address, like the unsafe LWJGL functions */
+    void nglUniform2fv(int location, int count, long value);
+
+    void nglUniform3fv(int location, int count, long value);
+
+    void nglUniform4fv(int location, int count, long value);
+
+    void nglUniformMatrix2fv(int location, int count, boolean transpose, long value);
+
+    void nglUniformMatrix3fv(int location, int count, boolean transpose, long value);
+
+    void nglUniformMatrix4fv(int location, int count, boolean transpose, long value);
+
+}
@@ -0,0 +1,64 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.graphic;
+
+/**
+ * This class holds the OpenGL backend used by the graphic classes. The backend
+ * has to be set before any graphic object gets created, by default the LWJGL
+ * backend is used behind a state cache.
+ *
+ * @author Heiko Brumme
+ */
+public final class GLBackends {
+
+    private static GLBackend backend = new GLStateCache(new LWJGLBackend());
+
+    /**
+     * This class only contains static methods.
+     */
+    private GLBackends() {
+    }
+
+    /**
+     * Gets the current backend.
+     *
+     * @return The current backend
+     */
+    public static GLBackend get() {
+        return backend;
+    }
+
+    /**
+     * Sets the backend for graphic objects created afterwards.
+     *
+     * @param backend The backend to use
+     */
+    public static void set(GLBackend backend) {
+        if (backend == null) {
+            throw new IllegalArgumentException("Backend must not be null!");
+        }
+        GLBackends.backend = backend;
+    }
+
+}
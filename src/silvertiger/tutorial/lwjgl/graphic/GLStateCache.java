@@ -0,0 +1,564 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.graphic;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_2D;
+import static org.lwjgl.opengl.GL13.GL_TEXTURE0;
+import static org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER;
+
+/**
+ * This class caches the bound objects of a context and skips binds of objects
+ * that are already bound. All other calls get passed to the wrapped backend.
+ * Since the cached state belongs to one context, every context needs its own
+ * cache. If OpenGL gets called without going through the cache,
+ * <code>invalidate()</code> has to be called afterwards.
+ *
+ * @author Heiko Brumme
+ */
+public class GLStateCache implements GLBackend {
+
+    /**
+     * Marks a binding as unknown, so that the next bind always gets issued.
+     */
+    private static final int UNKNOWN = -1;
+
+    /**
+     * Number of texture units that get cached, binds to higher units are
+     * always issued.
+     */
+    private static final int TEXTURE_UNITS = 32;
+
+    private final GLBackend backend;
+
+    private int program;
+    private int vertexArray;
+    private int arrayBuffer;
+    private int elementBuffer;
+    private int activeUnit;
+    private final int[] textures;
+
+    private long issued;
+    private long skipped;
+
+    /**
+     * Creates a state cache for specified backend.
+     *
+     * @param backend The backend that executes the calls
+     */
+    public GLStateCache(GLBackend backend) {
+        if (backend == null) {
+            throw new IllegalArgumentException("Backend must not be null!");
+        }
+        this.backend = backend;
+        textures = new int[TEXTURE_UNITS];
+        invalidate();
+
+        /* A new context starts with the first texture unit active */
+        activeUnit = 0;
+    }
+
+    /**
+     * Forgets the cached state, so that the next binds get issued again.
+     */
+    public void invalidate() {
+        program = UNKNOWN;
+        vertexArray = UNKNOWN;
+        arrayBuffer = UNKNOWN;
+        elementBuffer = UNKNOWN;
+        activeUnit = UNKNOWN;
+        Arrays.fill(textures, UNKNOWN);
+    }
+
+    /**
+     * Gets the number of binds that were passed to the backend.
+     *
+     * @return Number of issued binds
+     */
+    public long getIssuedBinds() {
+        return issued;
+    }
+
+    /**
+     * Gets the number of binds that were skipped, because the object was
+     * already bound.
+     *
+     * @return Number of skipped binds
+     */
+    public long getSkippedBinds() {
+        return skipped;
+    }
+
+    /**
+     * Gets the program that is in use according to the cache.
+     *
+     * @return Handle of the program, -1 if it is unknown
+     */
+    public int getProgram() {
+        return program;
+    }
+
+    /**
+     * Resets the bind counters.
+     */
+    public void resetCounters() {
+        issued = 0;
+        skipped = 0;
+    }
+
+    /**
+     * Counts a bind and checks if it has to be issued.
+     *
+     * @param cached The cached binding
+     * @param bound  The binding to set
+     *
+     * @return true if the bind has to be issued
+     */
+    private boolean needsBind(int cached, int bound) {
+        if (cached == bound) {
+            skipped++;
+            return false;
+        }
+        issued++;
+        return true;
+    }
+
+    @Override
+    public void glUseProgram(int program) {
+        if (needsBind(this.program, program)) {
+            backend.glUseProgram(program);
+            this.program = program;
+        }
+    }
+
+    @Override
+    public void glBindVertexArray(int array) {
+        if (needsBind(vertexArray, array)) {
+            backend.glBindVertexArray(array);
+            vertexArray = array;
+            /* The element buffer binding is part of the VAO state */
+            elementBuffer = UNKNOWN;
+        }
+    }
+
+    @Override
+    public void glBindBuffer(int target, int buffer) {
+        switch (target) {
+            case GL_ARRAY_BUFFER:
+                if (needsBind(arrayBuffer, buffer)) {
+                    backend.glBindBuffer(target, buffer);
+                    arrayBuffer = buffer;
+                }
+                break;
+            case GL_ELEMENT_ARRAY_BUFFER:
+                if (needsBind(elementBuffer, buffer)) {
+                    backend.glBindBuffer(target, buffer);
+                    elementBuffer = buffer;
+                }
+                break;
+            default:
+                issued++;
+                backend.glBindBuffer(target, buffer);
+                break;
+        }
+    }
+
+    @Override
+    public void glBindBufferBase(int target, int index, int buffer) {
+        /* This also binds the generic target, which is not cached */
+        issued++;
+        backend.glBindBufferBase(target, index, buffer);
+    }
+
+    @Override
+    public void glActiveTexture(int texture) {
+        int unit = texture - GL_TEXTURE0;
+        if (needsBind(activeUnit, unit)) {
+            backend.glActiveTexture(texture);
+            activeUnit = unit;
+        }
+    }
+
+    @Override
+    public void glBindTexture(int target, int texture) {
+        if (target != GL_TEXTURE_2D || activeUnit < 0 || activeUnit >= TEXTURE_UNITS) {
+            issued++;
+            backend.glBindTexture(target, texture);
+            return;
+        }
+        if (needsBind(textures[activeUnit], texture)) {
+            backend.glBindTexture(target, texture);
+            textures[activeUnit] = texture;
+        }
+    }
+
+    @Override
+    public void glDeleteProgram(int program) {
+        backend.glDeleteProgram(program);
+        if (this.program == program) {
+            this.program = UNKNOWN;
+        }
+    }
+
+    @Override
+    public void glDeleteVertexArrays(int array) {
+        backend.glDeleteVertexArrays(array);
+        if (vertexArray == array) {
+            vertexArray = UNKNOWN;
+            elementBuffer = UNKNOWN;
+        }
+    }
+
+    @Override
+    public void glDeleteBuffers(int buffer) {
+        backend.glDeleteBuffers(buffer);
+        if (arrayBuffer == buffer) {
+            arrayBuffer = UNKNOWN;
+        }
+        if (elementBuffer == buffer) {
+            elementBuffer = UNKNOWN;
+        }
+    }
+
+    @Override
+    public void glDeleteTextures(int texture) {
+        backend.glDeleteTextures(texture);
+        for (int i = 0; i < TEXTURE_UNITS; i++) {
+            if (textures[i] == texture) {
+                textures[i] = UNKNOWN;
+            }
+        }
+    }
+
+    @Override
+    public boolean isOpenGL32() {
+        return backend.isOpenGL32();
+    }
+
+    @Override
+    public boolean hasVertexAttribDivisor() {
+        return backend.hasVertexAttribDivisor();
+    }
+
+    @Override
+    public boolean hasProgramBinary() {
+        return backend.hasProgramBinary();
+    }
+
+    @Override
+    public void getFramebufferSize(IntBuffer width, IntBuffer height) {
+        backend.getFramebufferSize(width, height);
+    }
+
+    @Override
+    public void glEnable(int target) {
+        backend.glEnable(target);
+    }
+
+    @Override
+    public void glBlendFunc(int sfactor, int dfactor) {
+        backend.glBlendFunc(sfactor, dfactor);
+    }
+
+    @Override
+    public void glClear(int mask) {
+        backend.glClear(mask);
+    }
+
+    @Override
+    public int glGetInteger(int pname) {
+        return backend.glGetInteger(pname);
+    }
+
+    @Override
+    public String glGetString(int name) {
+        return backend.glGetString(name);
+    }
+
+    @Override
+    public void glDrawArrays(int mode, int first, int count) {
+        backend.glDrawArrays(mode, first, count);
+    }
+
+    @Override
+    public void glDrawArraysInstanced(int mode, int first, int count, int primcount) {
+        backend.glDrawArraysInstanced(mode, first, count, primcount);
+    }
+
+    @Override
+    public void glDrawElements(int mode, int count, int type, long indices) {
+        backend.glDrawElements(mode, count, type, indices);
+    }
+
+    @Override
+    public void glDrawElementsBaseVertex(int mode, int count, int type, long indices, int basevertex) {
+        backend.glDrawElementsBaseVertex(mode, count, type, indices, basevertex);
+    }
+
+    @Override
+    public long glFenceSync(int condition, int flags) {
+        return backend.glFenceSync(condition, flags);
+    }
+
+    @Override
+    public int glClientWaitSync(long sync, int flags, long timeout) {
+        return backend.glClientWaitSync(sync, flags, timeout);
+    }
+
+    @Override
+    public void glDeleteSync(long sync) {
+        backend.glDeleteSync(sync);
+    }
+
+    @Override
+    public int glGenTextures() {
+        return backend.glGenTextures();
+    }
+
+    @Override
+    public void glTexParameteri(int target, int pname, int param) {
+        backend.glTexParameteri(target, pname, param);
+    }
+
+    @Override
+    public void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, ByteBuffer pixels) {
+        backend.glTexImage2D(target, level, internalformat, width, height, border, format, type, pixels);
+    }
+
+    @Override
+    public int glGenBuffers() {
+        return backend.glGenBuffers();
+    }
+
+    @Override
+    public void glBufferData(int target, long size, int usage) {
+        backend.glBufferData(target, size, usage);
+    }
+
+    @Override
+    public void glBufferData(int target, ByteBuffer data, int usage) {
+        backend.glBufferData(target, data, usage);
+    }
+
+    @Override
+    public void glBufferData(int target, FloatBuffer data, int usage) {
+        backend.glBufferData(target, data, usage);
+    }
+
+    @Override
+    public void glBufferData(int target, IntBuffer data, int usage) {
+        backend.glBufferData(target, data, usage);
+    }
+
+    @Override
+    public void glBufferSubData(int target, long offset, ByteBuffer data) {
+        backend.glBufferSubData(target, offset, data);
+    }
+
+    @Override
+    public void glBufferSubData(int target, long offset, FloatBuffer data) {
+        backend.glBufferSubData(target, offset, data);
+    }
+
+    @Override
+    public ByteBuffer glMapBufferRange(int target, long offset, long length, int access) {
+        return backend.glMapBufferRange(target, offset, length, access);
+    }
+
+    @Override
+    public boolean glUnmapBuffer(int target) {
+        return backend.glUnmapBuffer(target);
+    }
+
+    @Override
+    public int glGenVertexArrays() {
+        return backend.glGenVertexArrays();
+    }
+
+    @Override
+    public int glCreateShader(int type) {
+        return backend.glCreateShader(type);
+    }
+
+    @Override
+    public void glShaderSource(int shader, CharSequence string) {
+        backend.glShaderSource(shader, string);
+    }
+
+    @Override
+    public void glCompileShader(int shader) {
+        backend.glCompileShader(shader);
+    }
+
+    @Override
+    public int glGetShaderi(int shader, int pname) {
+        return backend.glGetShaderi(shader, pname);
+    }
+
+    @Override
+    public String glGetShaderInfoLog(int shader) {
+        return backend.glGetShaderInfoLog(shader);
+    }
+
+    @Override
+    public void glDeleteShader(int shader) {
+        backend.glDeleteShader(shader);
+    }
+
+    @Override
+    public int glCreateProgram() {
+        return backend.glCreateProgram();
+    }
+
+    @Override
+    public void glAttachShader(int program, int shader) {
+        backend.glAttachShader(program, shader);
+    }
+
+    @Override
+    public void glBindFragDataLocation(int program, int colorNumber, CharSequence name) {
+        backend.glBindFragDataLocation(program, colorNumber, name);
+    }
+
+    @Override
+    public void glLinkProgram(int program) {
+        backend.glLinkProgram(program);
+    }
+
+    @Override
+    public int glGetProgrami(int program, int pname) {
+        return backend.glGetProgrami(program, pname);
+    }
+
+    @Override
+    public String glGetProgramInfoLog(int program) {
+        return backend.glGetProgramInfoLog(program);
+    }
+
+    @Override
+    public String glGetActiveUniform(int program, int index, IntBuffer size, IntBuffer type) {
+        return backend.glGetActiveUniform(program, index, size, type);
+    }
+
+    @Override
+    public String glGetActiveAttrib(int program, int index, IntBuffer size, IntBuffer type) {
+        return backend.glGetActiveAttrib(program, index, size, type);
+    }
+
+    @Override
+    public void glProgramParameteri(int program, int pname, int value) {
+        backend.glProgramParameteri(program, pname, value);
+    }
+
+    @Override
+    public void glGetProgramBinary(int program, IntBuffer length, IntBuffer binaryFormat, ByteBuffer binary) {
+        backend.glGetProgramBinary(program, length, binaryFormat, binary);
+    }
+
+    @Override
+    public void glProgramBinary(int program, int binaryFormat, ByteBuffer binary) {
+        backend.glProgramBinary(program, binaryFormat, binary);
+    }
+
+    @Override
+    public int glGetAttribLocation(int program, CharSequence name) {
+        return backend.glGetAttribLocation(program, name);
+    }
+
+    @Override
+    public void glEnableVertexAttribArray(int index) {
+        backend.glEnableVertexAttribArray(index);
+    }
+
+    @Override
+    public void glDisableVertexAttribArray(int index) {
+        backend.glDisableVertexAttribArray(index);
+    }
+
+    @Override
+    public void glVertexAttribPointer(int index, int size, int type, boolean normalized, int stride, long pointer) {
+        backend.glVertexAttribPointer(index, size, type, normalized, stride, pointer);
+    }
+
+    @Override
+    public void glVertexAttribDivisor(int index, int divisor) {
+        backend.glVertexAttribDivisor(index, divisor);
+    }
+
+    @Override
+    public int glGetUniformLocation(int program, CharSequence name) {
+        return backend.glGetUniformLocation(program, name);
+    }
+
+    @Override
+    public int glGetUniformBlockIndex(int program, CharSequence name) {
+        return backend.glGetUniformBlockIndex(program, name);
+    }
+
+    @Override
+    public void glUniformBlockBinding(int program, int index, int binding) {
+        backend.glUniformBlockBinding(program, index, binding);
+    }
+
+    @Override
+    public void glUniform1i(int location, int v0) {
+        backend.glUniform1i(location, v0);
+    }
+
+    @Override
+    public void nglUniform2fv(int location, int count, long value) {
+        backend.nglUniform2fv(location, count, value);
+    }
+
+    @Override
+    public void nglUniform3fv(int location, int count, long value) {
+        backend.nglUniform3fv(location, count, value);
+    }
+
+    @Override
+    public void nglUniform4fv(int location, int count, long value) {
+        backend.nglUniform4fv(location, count, value);
+    }
+
+    @Override
+    public void nglUniformMatrix2fv(int location, int count, boolean transpose, long value) {
+        backend.nglUniformMatrix2fv(location, count, transpose, value);
+    }
+
+    @Override
+    public void nglUniformMatrix3fv(int location, int count, boolean transpose, long value) {
+        backend.nglUniformMatrix3fv(location, count, transpose, value);
+    }
+
+    @Override
+    public void nglUniformMatrix4fv(int location, int count, boolean transpose, long value) {
+        backend.nglUniformMatrix4fv(location, count, transpose, value);
+    }
+
+}
@@ -0,0 +1,414 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.graphic;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import org.lwjgl.opengl.ARBInstancedArrays;
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL13;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL31;
+import org.lwjgl.opengl.GL32;
+import org.lwjgl.opengl.GL33;
+import org.lwjgl.opengl.GL41;
+import org.lwjgl.opengl.GLCapabilities;
+
+import static org.lwjgl.glfw.GLFW.glfwGetCurrentContext;
+import static org.lwjgl.glfw.GLFW.glfwGetFramebufferSize;
+
+/**
+ * This class implements the OpenGL backend by calling the LWJGL bindings of
+ * the current context.
+ *
+ * @author Heiko Brumme
+ */
+public class LWJGLBackend implements GLBackend {
+
+    @Override
+    public boolean isOpenGL32() {
+        return GL.getCapabilities().OpenGL32;
+    }
+
+    @Override
+    public boolean hasVertexAttribDivisor() {
+        GLCapabilities caps = GL.getCapabilities();
+        return caps.OpenGL33 || caps.GL_ARB_instanced_arrays;
+    }
+
+    @Override
+    public boolean hasProgramBinary() {
+        GLCapabilities caps = GL.getCapabilities();
+        return caps.OpenGL41 || caps.GL_ARB_get_program_binary;
+    }
+
+    @Override
+    public void getFramebufferSize(IntBuffer width, IntBuffer height) {
+        glfwGetFramebufferSize(glfwGetCurrentContext(), width, height);
+    }
+
+    @Override
+    public void glEnable(int target) {
+        GL11.glEnable(target);
+    }
+
+    @Override
+    public void glBlendFunc(int sfactor, int dfactor) {
+        GL11.glBlendFunc(sfactor, dfactor);
+    }
+
+    @Override
+    public void glClear(int mask) {
+        GL11.glClear(mask);
+    }
+
+    @Override
+    public int glGetInteger(int pname) {
+        return GL11.glGetInteger(pname);
+    }
+
+    @Override
+    public String glGetString(int name) {
+        return GL11.glGetString(name);
+    }
+
+    @Override
+    public void glDrawArrays(int mode, int first, int count) {
+        GL11.glDrawArrays(mode, first, count);
+    }
+
+    @Override
+    public void glDrawArraysInstanced(int mode, int first, int count, int primcount) {
+        GL31.glDrawArraysInstanced(mode, first, count, primcount);
+    }
+
+    @Override
+    public void glDrawElements(int mode, int count, int type, long indices) {
+        GL11.glDrawElements(mode, count, type, indices);
+    }
+
+    @Override
+    public void glDrawElementsBaseVertex(int mode, int count, int type, long indices, int basevertex) {
+        GL32.glDrawElementsBaseVertex(mode, count, type, indices, basevertex);
+    }
+
+    @Override
+    public long glFenceSync(int condition, int flags) {
+        return GL32.glFenceSync(condition, flags);
+    }
+
+    @Override
+    public int glClientWaitSync(long sync, int flags, long timeout) {
+        return GL32.glClientWaitSync(sync, flags, timeout);
+    }
+
+    @Override
+    public void glDeleteSync(long sync) {
+        GL32.glDeleteSync(sync);
+    }
+
+    @Override
+    public int glGenTextures() {
+        return GL11.glGenTextures();
+    }
+
+    @Override
+    public void glActiveTexture(int texture) {
+        GL13.glActiveTexture(texture);
+    }
+
+    @Override
+    public void glBindTexture(int target, int texture) {
+        GL11.glBindTexture(target, texture);
+    }
+
+    @Override
+    public void glTexParameteri(int target, int pname, int param) {
+        GL11.glTexParameteri(target, pname, param);
+    }
+
+    @Override
+    public void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, ByteBuffer pixels) {
+        GL11.glTexImage2D(target, level, internalformat, width, height, border, format, type, pixels);
+    }
+
+    @Override
+    public void glDeleteTextures(int texture) {
+        GL11.glDeleteTextures(texture);
+    }
+
+    @Override
+    public int glGenBuffers() {
+        return GL15.glGenBuffers();
+    }
+
+    @Override
+    public void glBindBuffer(int target, int buffer) {
+        GL15.glBindBuffer(target, buffer);
+    }
+
+    @Override
+    public void glBindBufferBase(int target, int index, int buffer) {
+        GL30.glBindBufferBase(target, index, buffer);
+    }
+
+    @Override
+    public void glBufferData(int target, long size, int usage) {
+        GL15.glBufferData(target, size, usage);
+    }
+
+    @Override
+    public void glBufferData(int target, ByteBuffer data, int usage) {
+        GL15.glBufferData(target, data, usage);
+    }
+
+    @Override
+    public void glBufferData(int target, FloatBuffer data, int usage) {
+        GL15.glBufferData(target, data, usage);
+    }
+
+    @Override
+    public void glBufferData(int target, IntBuffer data, int usage) {
+        GL15.glBufferData(target, data, usage);
+    }
+
+    @Override
+    public void glBufferSubData(int target, long offset, ByteBuffer data) {
+        GL15.glBufferSubData(target, offset, data);
+    }
+
+    @Override
+    public void glBufferSubData(int target, long offset, FloatBuffer data) {
+        GL15.glBufferSubData(target, offset, data);
+    }
+
+    @Override
+    public ByteBuffer glMapBufferRange(int target, long offset, long length, int access) {
+        return GL30.glMapBufferRange(target, offset, length, access);
+    }
+
+    @Override
+    public boolean glUnmapBuffer(int target) {
+        return GL15.glUnmapBuffer(target);
+    }
+
+    @Override
+    public void glDeleteBuffers(int buffer) {
+        GL15.glDeleteBuffers(buffer);
+    }
+
+    @Override
+    public int glGenVertexArrays() {
+        return GL30.glGenVertexArrays();
+    }
+
+    @Override
+    public void glBindVertexArray(int array) {
+        GL30.glBindVertexArray(array);
+    }
+
+    @Override
+    public void glDeleteVertexArrays(int array) {
+        GL30.glDeleteVertexArrays(array);
+    }
+
+    @Override
+    public int glCreateShader(int type) {
+        return GL20.glCreateShader(type);
+    }
+
+    @Override
+    public void glShaderSource(int shader, CharSequence string) {
+        GL20.glShaderSource(shader, string);
+    }
+
+    @Override
+    public void glCompileShader(int shader) {
+        GL20.glCompileShader(shader);
+    }
+
+    @Override
+    public int glGetShaderi(int shader, int pname) {
+        return GL20.glGetShaderi(shader, pname);
+    }
+
+    @Override
+    public String glGetShaderInfoLog(int shader) {
+        return GL20.glGetShaderInfoLog(shader);
+    }
+
+    @Override
+    public void glDeleteShader(int shader) {
+        GL20.glDeleteShader(shader);
+    }
+
+    @Override
+    public int glCreateProgram() {
+        return GL20.glCreateProgram();
+    }
+
+    @Override
+    public void glAttachShader(int program, int shader) {
+        GL20.glAttachShader(program, shader);
+    }
+
+    @Override
+    public void glBindFragDataLocation(int program, int colorNumber, CharSequence name) {
+        GL30.glBindFragDataLocation(program, colorNumber, name);
+    }
+
+    @Override
+    public void glLinkProgram(int program) {
+        GL20.glLinkProgram(program);
+    }
+
+    @Override
+    public int glGetProgrami(int program, int pname) {
+        return GL20.glGetProgrami(program, pname);
+    }
+
+    @Override
+    public String glGetProgramInfoLog(int program) {
+        return GL20.glGetProgramInfoLog(program);
+    }
+
+    @Override
+    public String glGetActiveUniform(int program, int index, IntBuffer size, IntBuffer type) {
+        return GL20.glGetActiveUniform(program, index, size, type);
+    }
+
+    @Override
+    public String glGetActiveAttrib(int program, int index, IntBuffer size, IntBuffer type) {
+        return GL20.glGetActiveAttrib(program, index, size, type);
+    }
+
+    @Override
+    public void glProgramParameteri(int program, int pname, int value) {
+        GL41.glProgramParameteri(program, pname, value);
+    }
+
+    @Override
+    public void glGetProgramBinary(int program, IntBuffer length, IntBuffer binaryFormat, ByteBuffer binary) {
+        GL41.glGetProgramBinary(program, length, binaryFormat, binary);
+    }
+
+    @Override
+    public void glProgramBinary(int program, int binaryFormat, ByteBuffer binary) {
+        GL41.glProgramBinary(program, binaryFormat, binary);
+    }
+
+    @Override
+    public void glUseProgram(int program) {
+        GL20.glUseProgram(program);
+    }
+
+    @Override
+    public void glDeleteProgram(int program) {
+        GL20.glDeleteProgram(program);
+    }
+
+    @Override
+    public int glGetAttribLocation(int program, CharSequence name) {
+        return GL20.glGetAttribLocation(program, name);
+    }
+
+    @Override
+    public void glEnableVertexAttribArray(int index) {
+        GL20.glEnableVertexAttribArray(index);
+    }
+
+    @Override
+    public void glDisableVertexAttribArray(int index) {
+        GL20.glDisableVertexAttribArray(index);
+    }
+
+    @Override
+    public void glVertexAttribPointer(int index, int size, int type, boolean normalized, int stride, long pointer) {
+        GL20.glVertexAttribPointer(index, size, type, normalized, stride, pointer);
+    }
+
+    @Override
+    public void glVertexAttribDivisor(int index, int divisor) {
+        if (GL.getCapabilities().OpenGL33) {
+            GL33.glVertexAttribDivisor(index, divisor);
+        } else {
+            ARBInstancedArrays.glVertexAttribDivisorARB(index, divisor);
+        }
+    }
+
+    @Override
+    public int glGetUniformLocation(int program, CharSequence name) {
+        return GL20.glGetUniformLocation(program, name);
+    }
+
+    @Override
+    public int glGetUniformBlockIndex(int program, CharSequence name) {
+        return GL31.glGetUniformBlockIndex(program, name);
+    }
+
+    @Override
+    public void glUniformBlockBinding(int program, int index, int binding) {
+        GL31.glUniformBlockBinding(program, index, binding);
+    }
+
+    @Override
+    public void glUniform1i(int location, int v0) {
+        GL20.glUniform1i(location, v0);
+    }
+
+    @Override
+    public void nglUniform2fv(int location, int count, long value) {
+        GL20.nglUniform2fv(location, count, value);
+    }
+
+    @Override
+    public void nglUniform3fv(int location, int count, long value) {
+        GL20.nglUniform3fv(location, count, value);
+    }
+
+    @Override
+    public void nglUniform4fv(int location, int count, long value) {
+        GL20.nglUniform4fv(location, count, value);
+    }
+
+    @Override
+    public void nglUniformMatrix2fv(int location, int count, boolean transpose, long value) {
+        GL20.nglUniformMatrix2fv(location, count, transpose, value);
+    }
+
+    @Override
+    public void nglUniformMatrix3fv(int location, int count, boolean transpose, long value) {
+        GL20.nglUniformMatrix3fv(location, count, transpose, value);
+    }
+
+    @Override
+    public void nglUniformMatrix4fv(int location, int count, boolean transpose, long value) {
+        GL20.nglUniformMatrix4fv(location, count, transpose, value);
+    }
+
+}
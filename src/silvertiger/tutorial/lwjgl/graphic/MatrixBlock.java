@@ -0,0 +1,171 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.graphic;
+
+import java.nio.FloatBuffer;
+import org.lwjgl.system.MemoryUtil;
+import silvertiger.tutorial.lwjgl.math.Matrix4f;
+
+import static org.lwjgl.opengl.GL15.GL_DYNAMIC_DRAW;
+import static org.lwjgl.opengl.GL31.GL_UNIFORM_BUFFER;
+
+/**
+ * This class holds the combined model-view-projection matrix in an uniform
+ * buffer that is shared by every program. The shaders declare the matrix in
+ * the std140 block <code>Matrices</code> of <code>transform.glsl</code>, so
+ * changing it is one buffer update for all programs. Uniform buffers need a
+ * 3.2 context, on a legacy context the matrix has to be set per program.
+ *
+ * @author Heiko Brumme
+ */
+public class MatrixBlock {
+
+    /**
+     * Name of the uniform block in the shaders.
+     */
+    public static final String NAME = "Matrices";
+    /**
+     * Binding point of the uniform block.
+     */
+    public static final int BINDING = 0;
+
+    /**
+     * Size of a mat4 in the std140 layout.
+     */
+    private static final int MATRIX_SIZE = 16 * Float.BYTES;
+
+    /**
+     * The block shared by the whole application.
+     */
+    private static MatrixBlock shared;
+
+    private final VertexBufferObject ubo;
+    private final FloatBuffer data;
+
+    /**
+     * Camera whose matrix was written last, null if the matrix was set
+     * directly.
+     */
+    private Camera owner;
+
+    /**
+     * Creates a matrix block with an identity matrix and binds it to its
+     * binding point.
+     */
+    public MatrixBlock() {
+        if (!GLBackends.get().isOpenGL32()) {
+            throw new IllegalStateException("Uniform buffers need a 3.2 context!");
+        }
+
+        data = MemoryUtil.memAllocFloat(16);
+
+        ubo = new VertexBufferObject();
+        ubo.bind(GL_UNIFORM_BUFFER);
+        ubo.uploadData(GL_UNIFORM_BUFFER, MATRIX_SIZE, GL_DYNAMIC_DRAW);
+        ubo.bindBase(GL_UNIFORM_BUFFER, BINDING);
+
+        setMVP(new Matrix4f());
+    }
+
+    /**
+     * Gets the shared matrix block, it gets created on first use.
+     *
+     * @return The shared matrix block
+     */
+    public static MatrixBlock get() {
+        if (shared == null) {
+            shared = new MatrixBlock();
+        }
+        return shared;
+    }
+
+    /**
+     * Deletes the shared matrix block if it was created.
+     */
+    public static void deleteShared() {
+        if (shared != null) {
+            shared.delete();
+            shared = null;
+        }
+    }
+
+    /**
+     * Assigns the uniform block of a program to the binding point of this
+     * block.
+     *
+     * @param program The program that uses the matrix
+     *
+     * @return true if the program has the uniform block
+     */
+    public boolean bind(ShaderProgram program) {
+        return program.bindUniformBlock(NAME, BINDING);
+    }
+
+    /**
+     * Sets the combined model-view-projection matrix.
+     *
+     * @param mvp The combined matrix
+     */
+    public void setMVP(Matrix4f mvp) {
+        /* Write directly to the memory of the buffer, it stays at position 0 */
+        mvp.toAddress(MemoryUtil.memAddress(data));
+
+        ubo.bind(GL_UNIFORM_BUFFER);
+        ubo.uploadSubData(GL_UNIFORM_BUFFER, 0, data);
+        owner = null;
+    }
+
+    /**
+     * Sets the combined model-view-projection matrix of a camera and
+     * remembers the camera as the last writer.
+     *
+     * @param camera The camera
+     */
+    public void setMVP(Camera camera) {
+        setMVP(camera.getMVP());
+        owner = camera;
+    }
+
+    /**
+     * Checks if this block holds the current combined matrix of a camera.
+     * Another writer or a changed matrix of the camera make the block
+     * outdated.
+     *
+     * @param camera The camera
+     *
+     * @return true if the matrix of the camera doesn't need to be uploaded
+     */
+    public boolean isUpToDate(Camera camera) {
+        return owner == camera && !camera.isDirty();
+    }
+
+    /**
+     * Deletes the uniform buffer.
+     */
+    public void delete() {
+        ubo.delete();
+        MemoryUtil.memFree(data);
+    }
+
+}
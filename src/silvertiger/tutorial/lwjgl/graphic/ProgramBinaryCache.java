@@ -0,0 +1,323 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.graphic;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+
+import static org.lwjgl.opengl.GL11.GL_RENDERER;
+import static org.lwjgl.opengl.GL11.GL_VENDOR;
+import static org.lwjgl.opengl.GL11.GL_VERSION;
+import static org.lwjgl.opengl.GL20.GL_FRAGMENT_SHADER;
+import static org.lwjgl.opengl.GL20.GL_VERTEX_SHADER;
+import static org.lwjgl.opengl.GL32.GL_GEOMETRY_SHADER;
+import static org.lwjgl.opengl.GL41.GL_NUM_PROGRAM_BINARY_FORMATS;
+
+/**
+ * This class caches linked shader programs on disk. The binaries are keyed by
+ * a hash of the shader sources and the driver strings, so a changed shader or
+ * an updated driver results in a new entry. If the driver does not support
+ * program binaries or rejects a cached binary, the program gets compiled from
+ * source as usual.
+ *
+ * @author Heiko Brumme
+ */
+public class ProgramBinaryCache {
+
+    private final GLBackend gl;
+    private final File directory;
+    private final boolean supported;
+
+    /**
+     * Creates a program binary cache in the home directory of the user. The
+     * binaries get passed to the driver as they are, so they must not be in
+     * a directory that other users can write to.
+     */
+    public ProgramBinaryCache() {
+        this(new File(System.getProperty("user.home"), ".lwjgl3-tutorial" + File.separator + "shaders"));
+    }
+
+    /**
+     * Creates a program binary cache in specified directory. Only the user
+     * should be able to write to the directory.
+     *
+     * @param directory Directory for the cached binaries
+     */
+    public ProgramBinaryCache(File directory) {
+        gl = GLBackends.get();
+        this.directory = directory;
+        supported = gl.hasProgramBinary() && gl.glGetInteger(GL_NUM_PROGRAM_BINARY_FORMATS) > 0;
+    }
+
+    /**
+     * Checks if the driver supports program binaries. If not every program
+     * gets compiled from source.
+     *
+     * @return true if binaries get cached
+     */
+    public boolean isSupported() {
+        return supported;
+    }
+
+    /**
+     * Loads a shader program from the cache or compiles and links it from the
+     * shader files.
+     *
+     * @param vertexPath     File path of the vertex shader
+     * @param geometryPath   File path of the geometry shader, may be null
+     * @param fragmentPath   File path of the fragment shader
+     * @param fragmentOutput Name of the fragment out color variable, null on
+     *                       a legacy context
+     *
+     * @return Linked shader program
+     */
+    public ShaderProgram loadProgram(String vertexPath, String geometryPath, String fragmentPath, String fragmentOutput) {
+        String vertexSource = Shader.readSource(vertexPath);
+        String geometrySource = geometryPath == null ? null : Shader.readSource(geometryPath);
+        String fragmentSource = Shader.readSource(fragmentPath);
+
+        return createProgram(vertexSource, geometrySource, fragmentSource, fragmentOutput);
+    }
+
+    /**
+     * Loads a shader program from the cache or compiles and links it from the
+     * shader sources.
+     *
+     * @param vertexSource   Source of the vertex shader
+     * @param geometrySource Source of the geometry shader, may be null
+     * @param fragmentSource Source of the fragment shader
+     * @param fragmentOutput Name of the fragment out color variable, null on
+     *                       a legacy context
+     *
+     * @return Linked shader program
+     */
+    public ShaderProgram createProgram(String vertexSource, String geometrySource, String fragmentSource, String fragmentOutput) {
+        File file = null;
+        if (supported) {
+            file = new File(directory, hash(vertexSource, geometrySource, fragmentSource, fragmentOutput) + ".bin");
+            ShaderProgram program = loadBinary(file);
+            if (program != null) {
+                return program;
+            }
+        }
+
+        /* Compile and link from source */
+        Shader vertexShader = Shader.createShader(GL_VERTEX_SHADER, vertexSource);
+        Shader geometryShader = null;
+        if (geometrySource != null) {
+            geometryShader = Shader.createShader(GL_GEOMETRY_SHADER, geometrySource);
+        }
+        Shader fragmentShader = Shader.createShader(GL_FRAGMENT_SHADER, fragmentSource);
+
+        ShaderProgram program = new ShaderProgram();
+        program.attachShader(vertexShader);
+        if (geometryShader != null) {
+            program.attachShader(geometryShader);
+        }
+        program.attachShader(fragmentShader);
+        if (fragmentOutput != null) {
+            program.bindFragmentDataLocation(0, fragmentOutput);
+        }
+        if (supported) {
+            program.setBinaryRetrievable();
+        }
+        program.link();
+
+        /* Delete linked shaders */
+        vertexShader.delete();
+        if (geometryShader != null) {
+            geometryShader.delete();
+        }
+        fragmentShader.delete();
+
+        if (supported) {
+            saveBinary(file, program);
+        }
+        return program;
+    }
+
+    /**
+     * Creates a program from a cached binary.
+     *
+     * @param file File of the cached binary
+     *
+     * @return The program or null if there is no usable binary
+     */
+    private ShaderProgram loadBinary(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+
+        int format;
+        byte[] data;
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            format = in.readInt();
+            int length = in.readInt();
+            if (length < 0 || length > file.length() - 2 * Integer.BYTES) {
+                throw new IOException("Invalid binary length " + length + " in " + file + "!");
+            }
+            data = new byte[length];
+            in.readFully(data);
+        } catch (IOException ex) {
+            Logger.getLogger(ProgramBinaryCache.class.getName()).log(Level.CONFIG, null, ex);
+            file.delete();
+            return null;
+        }
+
+        ShaderProgram program = new ShaderProgram();
+        ByteBuffer binary = MemoryUtil.memAlloc(data.length);
+        boolean loaded;
+        try {
+            binary.put(data).flip();
+            loaded = program.loadBinary(format, binary);
+        } finally {
+            MemoryUtil.memFree(binary);
+        }
+
+        if (!loaded) {
+            /* The driver rejected the binary, compile it again */
+            program.delete();
+            file.delete();
+            return null;
+        }
+        return program;
+    }
+
+    /**
+     * Stores the binary of a linked program. Failing to write the cache is not
+     * an error, the program just gets compiled again on the next start.
+     *
+     * @param file    File for the binary
+     * @param program The linked program
+     */
+    private void saveBinary(File file, ShaderProgram program) {
+        int length = program.getBinaryLength();
+        if (length <= 0) {
+            return;
+        }
+
+        byte[] data = new byte[length];
+        int format;
+        ByteBuffer binary = MemoryUtil.memAlloc(length);
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            IntBuffer formatBuffer = stack.mallocInt(1);
+            program.getBinary(formatBuffer, binary);
+            format = formatBuffer.get(0);
+            binary.get(data);
+        } finally {
+            MemoryUtil.memFree(binary);
+        }
+
+        if (!directory.isDirectory() && directory.mkdirs()) {
+            /* Restrict the new directory to its owner */
+            directory.setReadable(false, false);
+            directory.setWritable(false, false);
+            directory.setExecutable(false, false);
+            directory.setReadable(true, true);
+            directory.setWritable(true, true);
+            directory.setExecutable(true, true);
+        }
+        /* Write to a temporary file first, so that no other instance sees a partial entry */
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory.toPath(), file.getName(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+                out.writeInt(format);
+                out.writeInt(length);
+                out.write(data);
+            }
+            Files.move(temp, file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            Logger.getLogger(ProgramBinaryCache.class.getName()).log(Level.WARNING, null, ex);
+            if (temp != null) {
+                temp.toFile().delete();
+            }
+        }
+    }
+
+    /**
+     * Calculates the cache key of a program from its sources and the driver
+     * strings.
+     *
+     * @param sources The shader sources and the fragment output, null entries
+     *                are allowed
+     *
+     * @return Hexadecimal SHA-256 hash
+     */
+    private String hash(String... sources) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new RuntimeException(ex);
+        }
+
+        update(digest, gl.glGetString(GL_VENDOR));
+        update(digest, gl.glGetString(GL_RENDERER));
+        update(digest, gl.glGetString(GL_VERSION));
+        for (String source : sources) {
+            update(digest, source);
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for (byte b : digest.digest()) {
+            builder.append(String.format("%02x", b));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Adds a string to the hash, the length is added too so that different
+     * splits of the same text get different hashes.
+     *
+     * @param digest The message digest
+     * @param text   The text to add, may be null
+     */
+    private static void update(MessageDigest digest, String text) {
+        if (text == null) {
+            digest.update((byte) 0);
+            return;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) 1);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+}
@@ -0,0 +1,758 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.graphic;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.lwjgl.opengl.GL11.GL_TRUE;
+import static org.lwjgl.opengl.GL20.GL_LINK_STATUS;
+import static org.lwjgl.opengl.GL20.GL_MAX_TEXTURE_IMAGE_UNITS;
+import static org.lwjgl.opengl.GL20.GL_VALIDATE_STATUS;
+import static org.lwjgl.opengl.GL32.GL_ALREADY_SIGNALED;
+
+/**
+ * This class implements an OpenGL backend without a context. It records the
+ * calls instead of executing them and keeps the contents of buffer objects on
+ * the heap, so that the graphic classes can be run and measured headless.
+ *
+ * @author Heiko Brumme
+ */
+public class RecordingBackend implements GLBackend {
+
+    private final boolean openGL32;
+    private final int width;
+    private final int height;
+
+    private boolean recording;
+    private final List<String> calls;
+    private long callCount;
+
+    private int nextName;
+    private final Map<Integer, Integer> boundBuffers;
+    private final Map<Integer, ByteBuffer> bufferData;
+    private final Map<String, Integer> locations;
+
+    /**
+     * Creates a recording backend for a 3.2 core context with specified
+     * framebuffer size.
+     *
+     * @param width  Width of the framebuffer
+     * @param height Height of the framebuffer
+     */
+    public RecordingBackend(int width, int height) {
+        this(width, height, true);
+    }
+
+    /**
+     * Creates a recording backend with specified framebuffer size.
+     *
+     * @param width    Width of the framebuffer
+     * @param height   Height of the framebuffer
+     * @param openGL32 Whether the backend reports a 3.2 core context
+     */
+    public RecordingBackend(int width, int height, boolean openGL32) {
+        this.width = width;
+        this.height = height;
+        this.openGL32 = openGL32;
+
+        recording = true;
+        calls = new ArrayList<>();
+        callCount = 0;
+
+        nextName = 1;
+        boundBuffers = new HashMap<>();
+        bufferData = new HashMap<>();
+        locations = new HashMap<>();
+    }
+
+    /**
+     * Sets if the calls should be stored. If not only the number of calls
+     * gets counted, this is useful for benchmarks.
+     *
+     * @param recording Whether the calls should be stored
+     */
+    public void setRecording(boolean recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Gets the recorded calls.
+     *
+     * @return The recorded calls in order
+     */
+    public List<String> getCalls() {
+        return calls;
+    }
+
+    /**
+     * Gets the number of calls since the last clear.
+     *
+     * @return Number of calls
+     */
+    public long getCallCount() {
+        return callCount;
+    }
+
+    /**
+     * Clears the recorded calls and the call count.
+     */
+    public void clear() {
+        calls.clear();
+        callCount = 0;
+    }
+
+    /**
+     * Gets the contents of a buffer object.
+     *
+     * @param buffer Handle of the buffer object
+     *
+     * @return The data store of the buffer object or null if it has no data
+     */
+    public ByteBuffer getBufferData(int buffer) {
+        return bufferData.get(buffer);
+    }
+
+    /**
+     * Counts a call. Calls with arguments check the result before passing
+     * their arguments to {@link #store(String, Object...)}, so that no
+     * arguments get boxed while recording is disabled.
+     *
+     * @return true if the call should be stored
+     */
+    private boolean count() {
+        callCount++;
+        return recording;
+    }
+
+    /**
+     * Stores a call that was already counted.
+     *
+     * @param name Name of the function
+     * @param args Arguments of the call
+     */
+    private void store(String name, Object... args) {
+        StringBuilder builder = new StringBuilder(name).append('(');
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(args[i]);
+        }
+        calls.add(builder.append(')').toString());
+    }
+
+    /**
+     * Counts a call without arguments and stores it if recording is enabled.
+     *
+     * @param name Name of the function
+     */
+    private void record(String name) {
+        callCount++;
+        if (recording) {
+            calls.add(name + "()");
+        }
+    }
+
+    /**
+     * Gets the data store of the buffer bound to a target.
+     *
+     * @param target Target of the buffer
+     *
+     * @return Data store of the bound buffer
+     */
+    private ByteBuffer boundData(int target) {
+        Integer buffer = boundBuffers.get(target);
+        if (buffer == null || buffer == 0) {
+            throw new IllegalStateException("No buffer bound to target " + target + "!");
+        }
+        ByteBuffer data = bufferData.get(buffer);
+        if (data == null) {
+            throw new IllegalStateException("Buffer " + buffer + " has no data store!");
+        }
+        return data;
+    }
+
+    /**
+     * Replaces the data store of the buffer bound to a target.
+     *
+     * @param target Target of the buffer
+     * @param size   Size of the new data store in bytes
+     *
+     * @return The new data store
+     */
+    private ByteBuffer allocateData(int target, long size) {
+        Integer buffer = boundBuffers.get(target);
+        if (buffer == null || buffer == 0) {
+            throw new IllegalStateException("No buffer bound to target " + target + "!");
+        }
+        ByteBuffer data = ByteBuffer.allocate((int) size).order(ByteOrder.nativeOrder());
+        bufferData.put(buffer, data);
+        return data;
+    }
+
+    /**
+     * Gets a view of a range of the buffer bound to a target.
+     *
+     * @param target Target of the buffer
+     * @param offset Offset in bytes
+     * @param length Length in bytes
+     *
+     * @return View of the range
+     */
+    private ByteBuffer range(int target, long offset, long length) {
+        ByteBuffer view = boundData(target).duplicate();
+        view.position((int) offset);
+        view.limit((int) (offset + length));
+        return view.slice().order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Gets a stable location for a variable of a program.
+     *
+     * @param program Handle of the program
+     * @param name    Name of the variable
+     *
+     * @return Location of the variable
+     */
+    private int location(int program, CharSequence name) {
+        String key = program + ":" + name;
+        Integer location = locations.get(key);
+        if (location == null) {
+            location = locations.size();
+            locations.put(key, location);
+        }
+        return location;
+    }
+
+    @Override
+    public boolean isOpenGL32() {
+        return openGL32;
+    }
+
+    @Override
+    public boolean hasVertexAttribDivisor() {
+        return openGL32;
+    }
+
+    @Override
+    public boolean hasProgramBinary() {
+        return false;
+    }
+
+    @Override
+    public void getFramebufferSize(IntBuffer width, IntBuffer height) {
+        width.put(width.position(), this.width);
+        height.put(height.position(), this.height);
+    }
+
+    @Override
+    public void glEnable(int target) {
+        if (count()) {
+            store("glEnable", target);
+        }
+    }
+
+    @Override
+    public void glBlendFunc(int sfactor, int dfactor) {
+        if (count()) {
+            store("glBlendFunc", sfactor, dfactor);
+        }
+    }
+
+    @Override
+    public void glClear(int mask) {
+        if (count()) {
+            store("glClear", mask);
+        }
+    }
+
+    @Override
+    public int glGetInteger(int pname) {
+        if (count()) {
+            store("glGetInteger", pname);
+        }
+        return pname == GL_MAX_TEXTURE_IMAGE_UNITS ? 16 : 0;
+    }
+
+    @Override
+    public String glGetString(int name) {
+        if (count()) {
+            store("glGetString", name);
+        }
+        return "RecordingBackend";
+    }
+
+    @Override
+    public void glDrawArrays(int mode, int first, int count) {
+        if (count()) {
+            store("glDrawArrays", mode, first, count);
+        }
+    }
+
+    @Override
+    public void glDrawArraysInstanced(int mode, int first, int count, int primcount) {
+        if (count()) {
+            store("glDrawArraysInstanced", mode, first, count, primcount);
+        }
+    }
+
+    @Override
+    public void glDrawElements(int mode, int count, int type, long indices) {
+        if (count()) {
+            store("glDrawElements", mode, count, type, indices);
+        }
+    }
+
+    @Override
+    public void glDrawElementsBaseVertex(int mode, int count, int type, long indices, int basevertex) {
+        if (count()) {
+            store("glDrawElementsBaseVertex", mode, count, type, indices, basevertex);
+        }
+    }
+
+    @Override
+    public long glFenceSync(int condition, int flags) {
+        if (count()) {
+            store("glFenceSync", condition, flags);
+        }
+        return nextName++;
+    }
+
+    @Override
+    public int glClientWaitSync(long sync, int flags, long timeout) {
+        if (count()) {
+            store("glClientWaitSync", sync, flags, timeout);
+        }
+        return GL_ALREADY_SIGNALED;
+    }
+
+    @Override
+    public void glDeleteSync(long sync) {
+        if (count()) {
+            store("glDeleteSync", sync);
+        }
+    }
+
+    @Override
+    public int glGenTextures() {
+        record("glGenTextures");
+        return nextName++;
+    }
+
+    @Override
+    public void glActiveTexture(int texture) {
+        if (count()) {
+            store("glActiveTexture", texture);
+        }
+    }
+
+    @Override
+    public void glBindTexture(int target, int texture) {
+        if (count()) {
+            store("glBindTexture", target, texture);
+        }
+    }
+
+    @Override
+    public void glTexParameteri(int target, int pname, int param) {
+        if (count()) {
+            store("glTexParameteri", target, pname, param);
+        }
+    }
+
+    @Override
+    public void glTexImage2D(int target, int level, int internalformat, int width, int height, int border, int format, int type, ByteBuffer pixels) {
+        if (count()) {
+            store("glTexImage2D", target, level, internalformat, width, height, border, format, type);
+        }
+    }
+
+    @Override
+    public void glDeleteTextures(int texture) {
+        if (count()) {
+            store("glDeleteTextures", texture);
+        }
+    }
+
+    @Override
+    public int glGenBuffers() {
+        record("glGenBuffers");
+        return nextName++;
+    }
+
+    @Override
+    public void glBindBuffer(int target, int buffer) {
+        if (count()) {
+            store("glBindBuffer", target, buffer);
+        }
+        boundBuffers.put(target, buffer);
+    }
+
+    @Override
+    public void glBindBufferBase(int target, int index, int buffer) {
+        if (count()) {
+            store("glBindBufferBase", target, index, buffer);
+        }
+        boundBuffers.put(target, buffer);
+    }
+
+    @Override
+    public void glBufferData(int target, long size, int usage) {
+        if (count()) {
+            store("glBufferData", target, size, usage);
+        }
+        allocateData(target, size);
+    }
+
+    @Override
+    public void glBufferData(int target, ByteBuffer data, int usage) {
+        if (count()) {
+            store("glBufferData", target, data.remaining(), usage);
+        }
+        allocateData(target, data.remaining()).put(data.duplicate()).clear();
+    }
+
+    @Override
+    public void glBufferData(int target, FloatBuffer data, int usage) {
+        if (count()) {
+            store("glBufferData", target, data.remaining() << 2, usage);
+        }
+        allocateData(target, data.remaining() << 2).asFloatBuffer().put(data.duplicate());
+    }
+
+    @Override
+    public void glBufferData(int target, IntBuffer data, int usage) {
+        if (count()) {
+            store("glBufferData", target, data.remaining() << 2, usage);
+        }
+        allocateData(target, data.remaining() << 2).asIntBuffer().put(data.duplicate());
+    }
+
+    @Override
+    public void glBufferSubData(int target, long offset, ByteBuffer data) {
+        if (count()) {
+            store("glBufferSubData", target, offset, data.remaining());
+        }
+        range(target, offset, data.remaining()).put(data.duplicate());
+    }
+
+    @Override
+    public void glBufferSubData(int target, long offset, FloatBuffer data) {
+        if (count()) {
+            store("glBufferSubData", target, offset, data.remaining() << 2);
+        }
+        range(target, offset, data.remaining() << 2).asFloatBuffer().put(data.duplicate());
+    }
+
+    @Override
+    public ByteBuffer glMapBufferRange(int target, long offset, long length, int access) {
+        if (count()) {
+            store("glMapBufferRange", target, offset, length, access);
+        }
+        return range(target, offset, length);
+    }
+
+    @Override
+    public boolean glUnmapBuffer(int target) {
+        if (count()) {
+            store("glUnmapBuffer", target);
+        }
+        return true;
+    }
+
+    @Override
+    public void glDeleteBuffers(int buffer) {
+        if (count()) {
+            store("glDeleteBuffers", buffer);
+        }
+        bufferData.remove(buffer);
+    }
+
+    @Override
+    public int glGenVertexArrays() {
+        record("glGenVertexArrays");
+        return nextName++;
+    }
+
+    @Override
+    public void glBindVertexArray(int array) {
+        if (count()) {
+            store("glBindVertexArray", array);
+        }
+    }
+
+    @Override
+    public void glDeleteVertexArrays(int array) {
+        if (count()) {
+            store("glDeleteVertexArrays", array);
+        }
+    }
+
+    @Override
+    public int glCreateShader(int type) {
+        if (count()) {
+            store("glCreateShader", type);
+        }
+        return nextName++;
+    }
+
+    @Override
+    public void glShaderSource(int shader, CharSequence string) {
+        if (count()) {
+            store("glShaderSource", shader, string.length());
+        }
+    }
+
+    @Override
+    public void glCompileShader(int shader) {
+        if (count()) {
+            store("glCompileShader", shader);
+        }
+    }
+
+    @Override
+    public int glGetShaderi(int shader, int pname) {
+        if (count()) {
+            store("glGetShaderi", shader, pname);
+        }
+        return GL_TRUE;
+    }
+
+    @Override
+    public String glGetShaderInfoLog(int shader) {
+        if (count()) {
+            store("glGetShaderInfoLog", shader);
+        }
+        return "";
+    }
+
+    @Override
+    public void glDeleteShader(int shader) {
+        if (count()) {
+            store("glDeleteShader", shader);
+        }
+    }
+
+    @Override
+    public int glCreateProgram() {
+        record("glCreateProgram");
+        return nextName++;
+    }
+
+    @Override
+    public void glAttachShader(int program, int shader) {
+        if (count()) {
+            store("glAttachShader", program, shader);
+        }
+    }
+
+    @Override
+    public void glBindFragDataLocation(int program, int colorNumber, CharSequence name) {
+        if (count()) {
+            store("glBindFragDataLocation", program, colorNumber, name);
+        }
+    }
+
+    @Override
+    public void glLinkProgram(int program) {
+        if (count()) {
+            store("glLinkProgram", program);
+        }
+    }
+
+    @Override
+    public int glGetProgrami(int program, int pname) {
+        if (count()) {
+            store("glGetProgrami", program, pname);
+        }
+        /* Report success for status queries and no active variables, the
+         * locations get assigned when they are queried */
+        return pname == GL_LINK_STATUS || pname == GL_VALIDATE_STATUS ? GL_TRUE : 0;
+    }
+
+    @Override
+    public String glGetProgramInfoLog(int program) {
+        if (count()) {
+            store("glGetProgramInfoLog", program);
+        }
+        return "";
+    }
+
+    @Override
+    public String glGetActiveUniform(int program, int index, IntBuffer size, IntBuffer type) {
+        throw new IllegalStateException("The recording backend has no active uniforms!");
+    }
+
+    @Override
+    public String glGetActiveAttrib(int program, int index, IntBuffer size, IntBuffer type) {
+        throw new IllegalStateException("The recording backend has no active attributes!");
+    }
+
+    @Override
+    public void glProgramParameteri(int program, int pname, int value) {
+        if (count()) {
+            store("glProgramParameteri", program, pname, value);
+        }
+    }
+
+    @Override
+    public void glGetProgramBinary(int program, IntBuffer length, IntBuffer binaryFormat, ByteBuffer binary) {
+        throw new IllegalStateException("The recording backend has no program binaries!");
+    }
+
+    @Override
+    public void glProgramBinary(int program, int binaryFormat, ByteBuffer binary) {
+        throw new IllegalStateException("The recording backend has no program binaries!");
+    }
+
+    @Override
+    public void glUseProgram(int program) {
+        if (count()) {
+            store("glUseProgram", program);
+        }
+    }
+
+    @Override
+    public void glDeleteProgram(int program) {
+        if (count()) {
+            store("glDeleteProgram", program);
+        }
+    }
+
+    @Override
+    public int glGetAttribLocation(int program, CharSequence name) {
+        if (count()) {
+            store("glGetAttribLocation", program, name);
+        }
+        return location(program, name);
+    }
+
+    @Override
+    public void glEnableVertexAttribArray(int index) {
+        if (count()) {
+            store("glEnableVertexAttribArray", index);
+        }
+    }
+
+    @Override
+    public void glDisableVertexAttribArray(int index) {
+        if (count()) {
+            store("glDisableVertexAttribArray", index);
+        }
+    }
+
+    @Override
+    public void glVertexAttribPointer(int index, int size, int type, boolean normalized, int stride, long pointer) {
+        if (count()) {
+            store("glVertexAttribPointer", index, size, type, normalized, stride, pointer);
+        }
+    }
+
+    @Override
+    public void glVertexAttribDivisor(int index, int divisor) {
+        if (count()) {
+            store("glVertexAttribDivisor", index, divisor);
+        }
+    }
+
+    @Override
+    public int glGetUniformLocation(int program, CharSequence name) {
+        if (count()) {
+            store("glGetUniformLocation", program, name);
+        }
+        return location(program, name);
+    }
+
+    @Override
+    public int glGetUniformBlockIndex(int program, CharSequence name) {
+        if (count()) {
+            store("glGetUniformBlockIndex", program, name);
+        }
+        return location(program, name);
+    }
+
+    @Override
+    public void glUniformBlockBinding(int program, int index, int binding) {
+        if (count()) {
+            store("glUniformBlockBinding", program, index, binding);
+        }
+    }
+
+    @Override
+    public void glUniform1i(int location, int v0) {
+        if (count()) {
+            store("glUniform1i", location, v0);
+        }
+    }
+
+    @Override
+    public void nglUniform2fv(int location, int count, long value) {
+        if (count()) {
+            store("nglUniform2fv", location, count);
+        }
+    }
+
+    @Override
+    public void nglUniform3fv(int location, int count, long value) {
+        if (count()) {
+            store("nglUniform3fv", location, count);
+        }
+    }
+
+    @Override
+    public void nglUniform4fv(int location, int count, long value) {
+        if (count()) {
+            store("nglUniform4fv", location, count);
+        }
+    }
+
+    @Override
+    public void nglUniformMatrix2fv(int location, int count, boolean transpose, long value) {
+        if (count()) {
+            store("nglUniformMatrix2fv", location, count, transpose);
+        }
+    }
+
+    @Override
+    public void nglUniformMatrix3fv(int location, int count, boolean transpose, long value) {
+        if (count()) {
+            store("nglUniformMatrix3fv", location, count, transpose);
+        }
+    }
+
+    @Override
+    public void nglUniformMatrix4fv(int location, int count, boolean transpose, long value) {
+        if (count()) {
+            store("nglUniformMatrix4fv", location, count, transpose);
+        }
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.graphic;
+
+/**
+ * This class contains the statistics of the renderer for the current frame.
+ * The counters get reset at the start of every frame.
+ *
+ * @author Heiko Brumme
+ */
+public class RenderStats {
+
+    int flushes;
+    int forcedFlushes;
+    int drawCalls;
+    long vertices;
+    long bytesUploaded;
+    int textureBinds;
+    int textureSwitches;
+    int shaderSwitches;
+
+    /**
+     * Resets all counters, this should be called at the start of a frame.
+     */
+    public void reset() {
+        flushes = 0;
+        forcedFlushes = 0;
+        drawCalls = 0;
+        vertices = 0;
+        bytesUploaded = 0;
+        textureBinds = 0;
+        textureSwitches = 0;
+        shaderSwitches = 0;
+    }
+
+    /**
+     * Gets the number of flushes, including the flushes forced by a full
+     * batch.
+     *
+     * @return Number of flushes
+     */
+    public int getFlushes() {
+        return flushes;
+    }
+
+    /**
+     * Gets the number of flushes that happened because the batch was full and
+     * not because of calling <code>end()</code>.
+     *
+     * @return Number of forced flushes
+     */
+    public int getForcedFlushes() {
+        return forcedFlushes;
+    }
+
+    /**
+     * Gets the number of draw calls.
+     *
+     * @return Number of draw calls
+     */
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+
+    /**
+     * Gets the number of vertices that got drawn.
+     *
+     * @return Number of vertices
+     */
+    public long getVertices() {
+        return vertices;
+    }
+
+    /**
+     * Gets the number of bytes that got uploaded to vertex buffers.
+     *
+     * @return Number of bytes
+     */
+    public long getBytesUploaded() {
+        return bytesUploaded;
+    }
+
+    /**
+     * Gets the number of texture binds.
+     *
+     * @return Number of texture binds
+     */
+    public int getTextureBinds() {
+        return textureBinds;
+    }
+
+    /**
+     * Gets the number of times the texture of the submitted quads changed.
+     *
+     * @return Number of texture switches
+     */
+    public int getTextureSwitches() {
+        return textureSwitches;
+    }
+
+    /**
+     * Gets the number of times the renderer had to switch to its shader
+     * program, because another program was in use.
+     *
+     * @return Number of shader switches
+     */
+    public int getShaderSwitches() {
+        return shaderSwitches;
+    }
+
+}
@@ -26,31 +26,43 @@
 import java.awt.FontFormatException;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
+import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import org.lwjgl.glfw.GLFW;
 import org.lwjgl.system.MemoryStack;
 import org.lwjgl.system.MemoryUtil;
 import silvertiger.tutorial.lwjgl.core.Game;
+import silvertiger.tutorial.lwjgl.math.Matrix3x2f;
 import silvertiger.tutorial.lwjgl.math.Matrix4f;
 import silvertiger.tutorial.lwjgl.text.Font;
 
 import static org.lwjgl.opengl.GL11.GL_BLEND;
 import static org.lwjgl.opengl.GL11.GL_COLOR_BUFFER_BIT;
 import static org.lwjgl.opengl.GL11.GL_DEPTH_BUFFER_BIT;
+import static org.lwjgl.opengl.GL11.GL_FLOAT;
+import static org.lwjgl.opengl.GL11.GL_POINTS;
 import static org.lwjgl.opengl.GL11.GL_ONE_MINUS_SRC_ALPHA;
 import static org.lwjgl.opengl.GL11.GL_SRC_ALPHA;
 import static org.lwjgl.opengl.GL11.GL_TRIANGLES;
-import static org.lwjgl.opengl.GL11.glBlendFunc;
-import static org.lwjgl.opengl.GL11.glClear;
-import static org.lwjgl.opengl.GL11.glDrawArrays;
-import static org.lwjgl.opengl.GL11.glEnable;
+import static org.lwjgl.opengl.GL11.GL_TRIANGLE_STRIP;
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_BYTE;
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_INT;
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_SHORT;
 import static org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER;
 import static org.lwjgl.opengl.GL15.GL_DYNAMIC_DRAW;
-import static org.lwjgl.opengl.GL20.GL_FRAGMENT_SHADER;
-import static org.lwjgl.opengl.GL20.GL_VERTEX_SHADER;
+import static org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15.GL_STATIC_DRAW;
+import static org.lwjgl.opengl.GL15.GL_STREAM_DRAW;
+import static org.lwjgl.opengl.GL30.GL_MAP_INVALIDATE_RANGE_BIT;
+import static org.lwjgl.opengl.GL30.GL_MAP_UNSYNCHRONIZED_BIT;
+import static org.lwjgl.opengl.GL30.GL_MAP_WRITE_BIT;
+import static org.lwjgl.opengl.GL32.GL_SYNC_FLUSH_COMMANDS_BIT;
+import static org.lwjgl.opengl.GL32.GL_SYNC_GPU_COMMANDS_COMPLETE;
+import static org.lwjgl.opengl.GL32.GL_TIMEOUT_EXPIRED;
+import static org.lwjgl.opengl.GL20.GL_MAX_TEXTURE_IMAGE_UNITS;
 
 /**
  * This class is performing the rendering process.
@@ -59,25 +71,134 @@
  */
 public class Renderer {
 
+    /**
+     * Size of a vertex in bytes with the default layout, consisting of a float
+     * position, a float color and a float texture coordinate.
+     */
+    public static final int VERTEX_SIZE = 8 * Float.BYTES;
+    /**
+     * Size of a vertex in bytes with the packed layout, consisting of a float
+     * position, a color with four unsigned bytes and a texture coordinate with
+     * two unsigned shorts.
+     */
+    public static final int PACKED_VERTEX_SIZE = 2 * Float.BYTES + 4 * Byte.BYTES + 2 * Short.BYTES;
+    /**
+     * Size of a sprite record in bytes, consisting of a float rectangle, a
+     * float texture rectangle and a color with four unsigned bytes.
+     */
+    public static final int SPRITE_RECORD_SIZE = 8 * Float.BYTES + 4 * Byte.BYTES;
+    /**
+     * Default number of quads that fit into one batch.
+     */
+    public static final int DEFAULT_CAPACITY = 128;
+    /**
+     * Maximum number of textures that can be used in one batch, this is the
+     * size of the sampler array in the multitexture shaders.
+     */
+    public static final int MAX_TEXTURE_SLOTS = 8;
+
     private VertexArrayObject vao;
     private VertexBufferObject vbo;
+    private VertexBufferObject ebo;
+    private VertexBufferObject cornerVbo;
     private ShaderProgram program;
 
-    private FloatBuffer vertices;
+    private ByteBuffer vertices;
     private int numVertices;
     private boolean drawing;
 
+    private final boolean packed;
+    private int vertexSize;
+    private SpriteMode mode;
+
+    private int capacity;
+    private final int maxCapacity;
+    private int batchQuads;
+
+    private final GLBackend gl = GLBackends.get();
+    private final RenderStats stats = new RenderStats();
+    private final Camera camera = new Camera();
+    private final float[] corners = new float[8];
+
+    private final int segments;
+    private int segment;
+    private long[] fences;
+
+    private Texture texture;
+
+    private final boolean multitexture;
+    private int textureSlots;
+    private Texture[] slotTextures;
+    private int usedSlots;
+    private int slot;
+
+    private boolean deferred;
+    private DrawQueue queue;
+    private int layer;
+    private float depth;
+
     private Font font;
     private Font debugFont;
 
+    /**
+     * Creates a renderer with the default settings.
+     */
+    public Renderer() {
+        this(new RendererSettings());
+    }
+
+    /**
+     * Creates a renderer with specified settings.
+     *
+     * @param settings The settings of the renderer
+     */
+    public Renderer(RendererSettings settings) {
+        int capacity = settings.getCapacity();
+        int maxCapacity = settings.getMaxCapacity();
+        int segments = settings.getSegments();
+        int textureSlots = settings.getTextureSlots();
+        boolean packed = settings.isPacked();
+        SpriteMode mode = settings.getSpriteMode();
+
+        if (capacity <= 0 || maxCapacity < capacity) {
+            throw new IllegalArgumentException("Invalid batch capacity!");
+        }
+        if (segments <= 0) {
+            throw new IllegalArgumentException("Invalid number of segments!");
+        }
+        if (textureSlots <= 0) {
+            throw new IllegalArgumentException("Invalid number of texture slots!");
+        }
+        if (mode == null) {
+            throw new IllegalArgumentException("Sprite mode must not be null!");
+        }
+        if (mode != SpriteMode.QUADS && (textureSlots > 1 || packed)) {
+            throw new IllegalArgumentException("Multitexturing and packed vertices need quads!");
+        }
+        this.capacity = capacity;
+        this.maxCapacity = maxCapacity;
+        this.segments = segments;
+        this.textureSlots = Math.min(textureSlots, MAX_TEXTURE_SLOTS);
+        this.multitexture = textureSlots > 1;
+        this.packed = packed;
+
+        /* Multitexturing needs an additional texture slot per vertex */
+        int size = packed ? PACKED_VERTEX_SIZE : VERTEX_SIZE;
+        if (multitexture) {
+            size += packed ? 4 * Byte.BYTES : Float.BYTES;
+        }
+        this.vertexSize = size;
+        this.mode = mode;
+    }
+
     /** Initializes the renderer. */
     public void init() {
         /* Setup shader programs */
         setupShaderProgram();
 
         /* Enable blending */
-        glEnable(GL_BLEND);
-        glBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+        gl.glEnable(GL_BLEND);
+        gl.glBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
 
         /* Create fonts */
         try {
@@ -93,7 +214,7 @@ public void init() {
      * Clears the drawing area.
      */
     public void clear() {
-        glClear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT);
+        gl.glClear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT);
     }
 
     /**
@@ -105,6 +226,12 @@ public void begin() {
         }
         drawing = true;
         numVertices = 0;
+        batchQuads = 0;
+        layer = 0;
+        depth = 0f;
+        if (deferred) {
+            queue.clear();
+        }
     }
 
     /**
@@ -115,7 +242,21 @@ public void end() {
             throw new IllegalStateException("Renderer isn't drawing!");
         }
         drawing = false;
+        if (deferred) {
+            drawQueue();
+        }
         flush();
+        texture = null;
+        resetTextureSlots();
+
+        /* Grow the batch if it was too small for the last one */
+        if (batchQuads > capacity && capacity < maxCapacity) {
+            int newCapacity = capacity;
+            while (newCapacity < batchQuads) {
+                newCapacity *= 2;
+            }
+            resize(Math.min(newCapacity, maxCapacity));
+        }
     }
 
     /**
@@ -124,28 +265,388 @@ public void end() {
     public void flush() {
         if (numVertices > 0) {
             vertices.flip();
+            stats.bytesUploaded += vertices.remaining();
 
             if (vao != null) {
                 vao.bind();
             } else {
                 vbo.bind(GL_ARRAY_BUFFER);
+                ebo.bind(GL_ELEMENT_ARRAY_BUFFER);
                 specifyVertexAttributes();
             }
-            program.use();
+            useProgram();
+            updateCamera();
+            if (multitexture) {
+                /* Bind in reverse, so that unit 0 is active afterwards */
+                for (int i = usedSlots - 1; i >= 0; i--) {
+                    if (slotTextures[i] != null) {
+                        slotTextures[i].bind(i);
+                        stats.textureBinds++;
+                    }
+                }
+            } else if (texture != null) {
+                texture.bind();
+                stats.textureBinds++;
+            }
 
-            /* Upload the new vertex data */
+            /* Upload the new vertex data and draw the batch */
             vbo.bind(GL_ARRAY_BUFFER);
-            vbo.uploadSubData(GL_ARRAY_BUFFER, 0, vertices);
-
-            /* Draw batch */
-            glDrawArrays(GL_TRIANGLES, 0, numVertices);
+            if (segments > 1 && vao != null) {
+                drawStreamed();
+            } else {
+                if (segments > 1) {
+                    /* Orphan the storage, so we don't have to wait for the
+                     * GPU to finish reading the previous batch */
+                    vbo.uploadData(GL_ARRAY_BUFFER, vertices.capacity(), GL_STREAM_DRAW);
+                }
+                vbo.uploadSubData(GL_ARRAY_BUFFER, 0, vertices);
+                drawBatch(0);
+            }
 
             /* Clear vertex data for next batch */
             vertices.clear();
             numVertices = 0;
+            stats.flushes++;
+            if (multitexture) {
+                resetTextureSlots();
+            }
+        }
+    }
+
+    /**
+     * Draws the uploaded batch.
+     *
+     * @param offset Offset of the batch in the VBO in bytes
+     */
+    private void drawBatch(int offset) {
+        stats.drawCalls++;
+        if (mode == SpriteMode.INSTANCED) {
+            /* Every sprite record is one instance of the unit quad */
+            if (segments > 1) {
+                pointSpriteAttributes(offset);
+            }
+            gl.glDrawArraysInstanced(GL_TRIANGLE_STRIP, 0, 4, numVertices);
+            stats.vertices += 4 * numVertices;
+        } else if (mode == SpriteMode.POINTS) {
+            /* Every sprite record is a point for the geometry shader */
+            gl.glDrawArrays(GL_POINTS, offset / vertexSize, numVertices);
+            stats.vertices += numVertices;
+        } else {
+            /* Every quad consists of 4 vertices and 6 elements */
+            int numElements = numVertices / 4 * 6;
+            stats.vertices += numVertices;
+            int baseVertex = offset / vertexSize;
+            if (baseVertex != 0) {
+                gl.glDrawElementsBaseVertex(GL_TRIANGLES, numElements, GL_UNSIGNED_INT, 0, baseVertex);
+            } else {
+                gl.glDrawElements(GL_TRIANGLES, numElements, GL_UNSIGNED_INT, 0);
+            }
         }
     }
 
+    /**
+     * Writes the vertex data into the next segment of the VBO and draws it.
+     * The segment gets mapped unsynchronized, so we have to make sure that the
+     * GPU finished drawing the batch that was written there before.
+     */
+    private void drawStreamed() {
+        /* Wait until the GPU is done with this segment */
+        long fence = fences[segment];
+        if (fence != MemoryUtil.NULL) {
+            int status;
+            do {
+                status = gl.glClientWaitSync(fence, GL_SYNC_FLUSH_COMMANDS_BIT, 1_000_000L);
+            } while (status == GL_TIMEOUT_EXPIRED);
+            gl.glDeleteSync(fence);
+            fences[segment] = MemoryUtil.NULL;
+        }
+
+        /* Copy the vertex data into the segment */
+        int offset = segment * vertices.capacity();
+        int access = GL_MAP_WRITE_BIT | GL_MAP_INVALIDATE_RANGE_BIT | GL_MAP_UNSYNCHRONIZED_BIT;
+        ByteBuffer mapped = vbo.mapRange(GL_ARRAY_BUFFER, offset, vertices.remaining(), access);
+        mapped.put(vertices);
+        vbo.unmap(GL_ARRAY_BUFFER);
+
+        /* Draw batch, starting at the segment */
+        drawBatch(offset);
+        fences[segment] = gl.glFenceSync(GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+
+        segment = (segment + 1) % segments;
+    }
+
+    /**
+     * Deletes the fences of all segments, this is used when the VBO storage
+     * gets reallocated or deleted.
+     */
+    private void deleteFences() {
+        for (int i = 0; i < fences.length; i++) {
+            if (fences[i] != MemoryUtil.NULL) {
+                gl.glDeleteSync(fences[i]);
+                fences[i] = MemoryUtil.NULL;
+            }
+        }
+        segment = 0;
+    }
+
+    /**
+     * Allocates storage for the currently bound VBO. With streaming on a 3.2
+     * context there is room for every segment.
+     */
+    private void allocateVertexStorage() {
+        deleteFences();
+
+        if (segments > 1 && vao != null) {
+            long size = (long) vertices.capacity() * segments;
+            vbo.uploadData(GL_ARRAY_BUFFER, size, GL_STREAM_DRAW);
+        } else {
+            long size = vertices.capacity();
+            vbo.uploadData(GL_ARRAY_BUFFER, size, segments > 1 ? GL_STREAM_DRAW : GL_DYNAMIC_DRAW);
+        }
+    }
+
+    /**
+     * Enables or disables deferred rendering. In deferred mode the draw calls
+     * between <code>begin()</code> and <code>end()</code> get recorded and
+     * sorted by layer, texture and depth before they are drawn, so that quads
+     * with the same texture end up in the same batch. Quads on the same layer
+     * and with the same texture and depth keep the order of their draw calls.
+     *
+     * @param deferred Whether deferred rendering should be used
+     */
+    public void setDeferred(boolean deferred) {
+        if (drawing) {
+            throw new IllegalStateException("Renderer is already drawing!");
+        }
+        if (deferred && queue == null) {
+            queue = new DrawQueue(capacity);
+        }
+        this.deferred = deferred;
+    }
+
+    /**
+     * Sets the layer for the following draw calls in deferred mode. Quads on a
+     * lower layer get drawn before quads on a higher layer.
+     *
+     * @param layer Layer, ranging from 0 to 255
+     */
+    public void setLayer(int layer) {
+        if (layer < 0 || layer > 255) {
+            throw new IllegalArgumentException("Layer must be between 0 and 255!");
+        }
+        this.layer = layer;
+    }
+
+    /**
+     * Sets the depth for the following draw calls in deferred mode. Quads with
+     * the same layer and texture get drawn from lowest to highest depth.
+     *
+     * @param depth Depth of the quads
+     */
+    public void setDepth(float depth) {
+        this.depth = depth;
+    }
+
+    /**
+     * Sorts the recorded draw commands and puts them into batches.
+     */
+    private void drawQueue() {
+        queue.sort();
+
+        /* The recorded textures were only stored, the batch has none yet */
+        texture = null;
+        float[] data = queue.getData();
+        for (int i = 0; i < queue.size(); i++) {
+            int command = queue.getCommand(i);
+            switchTexture(queue.getTexture(command));
+
+            int o = command * DrawQueue.STRIDE;
+            putQuad(data[o], data[o + 1], data[o + 2], data[o + 3],
+                    data[o + 4], data[o + 5], data[o + 6], data[o + 7],
+                    data[o + 8], data[o + 9], data[o + 10], data[o + 11],
+                    data[o + 12], data[o + 13], data[o + 14], data[o + 15]);
+        }
+        queue.clear();
+    }
+
+    /**
+     * Creates a static batch that uses the vertex layout of this renderer.
+     * This needs the <code>QUADS</code> sprite mode.
+     *
+     * @return A new static batch
+     */
+    public StaticBatch createStaticBatch() {
+        if (mode != SpriteMode.QUADS) {
+            throw new IllegalStateException("Static batches need the QUADS sprite mode!");
+        }
+        return new StaticBatch(this);
+    }
+
+    /**
+     * Draws a static batch. If the renderer is drawing, the current batch gets
+     * flushed first, so that the static batch keeps its place in the drawing
+     * order. In deferred mode it gets drawn before the recorded draw calls.
+     *
+     * @param batch The static batch to draw
+     */
+    public void drawStaticBatch(StaticBatch batch) {
+        flush();
+        useProgram();
+        updateCamera();
+        batch.draw();
+    }
+
+    /**
+     * Uses the program of this renderer. A shader switch only gets counted if
+     * another program was in use, without a state cache every use counts.
+     */
+    private void useProgram() {
+        if (!(gl instanceof GLStateCache) || ((GLStateCache) gl).getProgram() != program.getID()) {
+            stats.shaderSwitches++;
+        }
+        program.use();
+    }
+
+    /**
+     * Gets the size of a vertex in bytes.
+     *
+     * @return Vertex size in bytes
+     */
+    int getVertexSize() {
+        return vertexSize;
+    }
+
+    /**
+     * Sets the texture for the following quads. In deferred mode the texture
+     * just gets recorded with the quads.
+     *
+     * @param texture The texture to use
+     */
+    private void setTexture(Texture texture) {
+        if (deferred && drawing) {
+            this.texture = texture;
+        } else {
+            switchTexture(texture);
+        }
+    }
+
+    /**
+     * Switches the texture of the current batch. If the texture differs from
+     * the one of the current batch, the batch gets flushed first.
+     *
+     * @param texture The texture to use
+     */
+    private void switchTexture(Texture texture) {
+        if (this.texture != texture) {
+            if (multitexture) {
+                slot = slotOf(texture);
+            } else {
+                flush();
+            }
+            /* The first texture of a batch is no switch */
+            if (this.texture != null) {
+                stats.textureSwitches++;
+            }
+            this.texture = texture;
+        }
+    }
+
+    /**
+     * Gets the texture slot of specified texture in the current batch. If the
+     * texture has no slot yet, it gets the next free slot. If all slots are in
+     * use, the batch gets flushed first.
+     *
+     * @param texture The texture
+     *
+     * @return Texture slot
+     */
+    private int slotOf(Texture texture) {
+        for (int i = 0; i < usedSlots; i++) {
+            if (slotTextures[i] == texture) {
+                return i;
+            }
+        }
+        if (usedSlots == textureSlots) {
+            flush();
+            resetTextureSlots();
+        }
+        slotTextures[usedSlots] = texture;
+        return usedSlots++;
+    }
+
+    /**
+     * Frees all texture slots of the current batch.
+     */
+    private void resetTextureSlots() {
+        if (slotTextures != null) {
+            Arrays.fill(slotTextures, null);
+        }
+        usedSlots = 0;
+        slot = -1;
+    }
+
+    /**
+     * Gets the number of quads that currently fit into one batch.
+     *
+     * @return Batch capacity in quads
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the camera of this renderer. Changed matrices get combined and
+     * uploaded with the next batch.
+     *
+     * @return The camera
+     */
+    public Camera getCamera() {
+        return camera;
+    }
+
+    /**
+     * Uploads the combined matrix of the camera if one of its matrices
+     * changed or something else wrote the matrix since the last upload.
+     */
+    private void updateCamera() {
+        if (Game.isDefaultContext()) {
+            /* The combined matrix is in the uniform block shared by all programs */
+            MatrixBlock matrices = MatrixBlock.get();
+            if (!matrices.isUpToDate(camera)) {
+                matrices.setMVP(camera);
+            }
+        } else {
+            /* The program may be shared, its uniform cache skips unchanged values */
+            program.setUniform(program.getUniformLocation("mvp"), camera.getMVP());
+        }
+    }
+
+    /**
+     * Gets the statistics of the current frame.
+     *
+     * @return Render statistics
+     */
+    public RenderStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Checks if the renderer is currently drawing.
+     *
+     * @return true, if <code>begin()</code> was called without calling
+     *         <code>end()</code> afterwards, else false
+     */
+    public boolean isDrawing() {
+        return drawing;
+    }
+
+    /**
+     * Resets the statistics, this should be called at the start of a frame.
+     */
+    public void resetStatistics() {
+        stats.reset();
+    }
+
     /**
      * Calculates total width of a text.
      *
@@ -237,9 +738,9 @@ public void drawDebugText(CharSequence text, float x, float y, Color c) {
     }
 
     /**
-     * Draws the currently bound texture on specified coordinates.
+     * Draws a texture on specified coordinates.
      *
-     * @param texture Used for getting width and height of the texture
+     * @param texture The texture to draw
      * @param x       X position of the texture
      * @param y       Y position of the texture
      */
@@ -248,15 +749,16 @@ public void drawTexture(Texture texture, float x, float y) {
     }
 
     /**
-     * Draws the currently bound texture on specified coordinates and with
-     * specified color.
+     * Draws a texture on specified coordinates and with specified color.
      *
-     * @param texture Used for getting width and height of the texture
+     * @param texture The texture to draw
      * @param x       X position of the texture
      * @param y       Y position of the texture
      * @param c       The color to use
      */
     public void drawTexture(Texture texture, float x, float y, Color c) {
+        setTexture(texture);
+
         /* Vertex positions */
         float x1 = x;
         float y1 = y;
@@ -273,10 +775,9 @@ public void drawTexture(Texture texture, float x, float y, Color c) {
     }
 
     /**
-     * Draws a texture region with the currently bound texture on specified
-     * coordinates.
+     * Draws a texture region on specified coordinates.
      *
-     * @param texture   Used for getting width and height of the texture
+     * @param texture   The texture to draw
      * @param x         X position of the texture
      * @param y         Y position of the texture
      * @param regX      X position of the texture region
@@ -289,10 +790,9 @@ public void drawTextureRegion(Texture texture, float x, float y, float regX, flo
     }
 
     /**
-     * Draws a texture region with the currently bound texture on specified
-     * coordinates.
+     * Draws a texture region on specified coordinates.
      *
-     * @param texture   Used for getting width and height of the texture
+     * @param texture   The texture to draw
      * @param x         X position of the texture
      * @param y         Y position of the texture
      * @param regX      X position of the texture region
@@ -302,6 +802,8 @@ public void drawTextureRegion(Texture texture, float x, float y, float regX, flo
      * @param c         The color to use
      */
     public void drawTextureRegion(Texture texture, float x, float y, float regX, float regY, float regWidth, float regHeight, Color c) {
+        setTexture(texture);
+
         /* Vertex positions */
         float x1 = x;
         float y1 = y;
@@ -318,8 +820,75 @@ public void drawTextureRegion(Texture texture, float x, float y, float regX, flo
     }
 
     /**
-     * Draws a texture region with the currently bound texture on specified
-     * coordinates.
+     * Draws a texture region with an affine transformation. The region gets
+     * placed with its bottom left corner on the origin before it gets
+     * transformed, so it can be rotated and scaled. This needs the
+     * <code>QUADS</code> sprite mode.
+     *
+     * @param texture   The texture to draw
+     * @param transform Transformation of the region
+     * @param regX      X position of the texture region
+     * @param regY      Y position of the texture region
+     * @param regWidth  Width of the texture region
+     * @param regHeight Height of the texture region
+     */
+    public void drawTextureRegion(Texture texture, Matrix3x2f transform, float regX, float regY, float regWidth, float regHeight) {
+        drawTextureRegion(texture, transform, regX, regY, regWidth, regHeight, Color.WHITE);
+    }
+
+    /**
+     * Draws a texture region with an affine transformation. The region gets
+     * placed with its bottom left corner on the origin before it gets
+     * transformed, so it can be rotated and scaled. This needs the
+     * <code>QUADS</code> sprite mode.
+     *
+     * @param texture   The texture to draw
+     * @param transform Transformation of the region
+     * @param regX      X position of the texture region
+     * @param regY      Y position of the texture region
+     * @param regWidth  Width of the texture region
+     * @param regHeight Height of the texture region
+     * @param c         The color to use
+     */
+    public void drawTextureRegion(Texture texture, Matrix3x2f transform, float regX, float regY, float regWidth, float regHeight, Color c) {
+        if (mode != SpriteMode.QUADS) {
+            throw new IllegalStateException("Transformed sprites need the QUADS sprite mode!");
+        }
+        setTexture(texture);
+
+        /* Vertex positions, in the same order as the vertices of a quad */
+        corners[0] = 0f;
+        corners[1] = 0f;
+        corners[2] = 0f;
+        corners[3] = regHeight;
+        corners[4] = regWidth;
+        corners[5] = regHeight;
+        corners[6] = regWidth;
+        corners[7] = 0f;
+        transform.transform(corners, 0, corners, 0, 4);
+
+        /* Texture coordinates */
+        float s1 = regX / texture.getWidth();
+        float t1 = regY / texture.getHeight();
+        float s2 = (regX + regWidth) / texture.getWidth();
+        float t2 = (regY + regHeight) / texture.getHeight();
+
+        if (deferred && drawing) {
+            queue.add(layer, 0, texture, depth,
+                      corners[0], corners[1], corners[2], corners[3],
+                      corners[4], corners[5], corners[6], corners[7],
+                      s1, t1, s2, t2, c);
+        } else {
+            putQuad(corners[0], corners[1], corners[2], corners[3],
+                    corners[4], corners[5], corners[6], corners[7],
+                    s1, t1, s2, t2, c.getRed(), c.getGreen(), c.getBlue(), c.getAlpha());
+        }
+    }
+
+    /**
+     * Draws a texture region with the texture of the last draw call on
+     * specified coordinates. If there is none, the currently bound texture
+     * gets used.
      *
      * @param x1 Bottom left x position
      * @param y1 Bottom left y position
@@ -335,8 +904,9 @@ public void drawTextureRegion(float x1, float y1, float x2, float y2, float s1,
     }
 
     /**
-     * Draws a texture region with the currently bound texture on specified
-     * coordinates.
+     * Draws a texture region with the texture of the last draw call on
+     * specified coordinates. If there is none, the currently bound texture
+     * gets used.
      *
      * @param x1 Bottom left x position
      * @param y1 Bottom left y position
@@ -349,25 +919,229 @@ public void drawTextureRegion(float x1, float y1, float x2, float y2, float s1,
      * @param c  The color to use
      */
     public void drawTextureRegion(float x1, float y1, float x2, float y2, float s1, float t1, float s2, float t2, Color c) {
-        if (vertices.remaining() < 8 * 6) {
+        if (deferred && drawing) {
+            queue.add(layer, 0, texture, depth, x1, y1, x1, y2, x2, y2, x2, y1, s1, t1, s2, t2, c);
+        } else {
+            putQuad(x1, y1, x2, y2, s1, t1, s2, t2, c.getRed(), c.getGreen(), c.getBlue(), c.getAlpha());
+        }
+    }
+
+    /**
+     * Puts the vertices of a quad into the current batch.
+     *
+     * @param x1    Bottom left x position
+     * @param y1    Bottom left y position
+     * @param x2    Top right x position
+     * @param y2    Top right y position
+     * @param s1    Bottom left s coordinate
+     * @param t1    Bottom left t coordinate
+     * @param s2    Top right s coordinate
+     * @param t2    Top right t coordinate
+     * @param red   The red component
+     * @param green The green component
+     * @param blue  The blue component
+     * @param alpha The alpha component
+     */
+    private void putQuad(float x1, float y1, float x2, float y2, float s1, float t1, float s2, float t2,
+                         float red, float green, float blue, float alpha) {
+        if (mode != SpriteMode.QUADS) {
+            putSprite(x1, y1, x2, y2, s1, t1, s2, t2, red, green, blue, alpha);
+            return;
+        }
+        putQuad(x1, y1, x1, y2, x2, y2, x2, y1, s1, t1, s2, t2, red, green, blue, alpha);
+    }
+
+    /**
+     * Puts the vertices of a quad with arbitrary corners into the current
+     * batch. Sprite modes other than <code>QUADS</code> only support axis
+     * aligned quads, so they use the bottom left and top right corner.
+     *
+     * @param x1    Bottom left x position
+     * @param y1    Bottom left y position
+     * @param x2    Top left x position
+     * @param y2    Top left y position
+     * @param x3    Top right x position
+     * @param y3    Top right y position
+     * @param x4    Bottom right x position
+     * @param y4    Bottom right y position
+     * @param s1    Bottom left s coordinate
+     * @param t1    Bottom left t coordinate
+     * @param s2    Top right s coordinate
+     * @param t2    Top right t coordinate
+     * @param red   The red component
+     * @param green The green component
+     * @param blue  The blue component
+     * @param alpha The alpha component
+     */
+    private void putQuad(float x1, float y1, float x2, float y2, float x3, float y3, float x4, float y4,
+                         float s1, float t1, float s2, float t2,
+                         float red, float green, float blue, float alpha) {
+        if (mode != SpriteMode.QUADS) {
+            putSprite(x1, y1, x3, y3, s1, t1, s2, t2, red, green, blue, alpha);
+            return;
+        }
+        if (vertices.remaining() < vertexSize * 4) {
+            /* We need more space in the buffer, so flush it */
+            stats.forcedFlushes++;
+            flush();
+        }
+        if (multitexture && slot < 0) {
+            /* The slots got freed by the last flush */
+            slot = slotOf(texture);
+        }
+
+        writeQuad(vertices, x1, y1, x2, y2, x3, y3, x4, y4, s1, t1, s2, t2, red, green, blue, alpha, slot);
+
+        numVertices += 4;
+        batchQuads++;
+    }
+
+    /**
+     * Writes the vertices of a quad into specified buffer, using the vertex
+     * layout of this renderer.
+     *
+     * @param buffer Buffer to write into, needs space for 4 vertices
+     * @param x1     Bottom left x position
+     * @param y1     Bottom left y position
+     * @param x2     Top right x position
+     * @param y2     Top right y position
+     * @param s1     Bottom left s coordinate
+     * @param t1     Bottom left t coordinate
+     * @param s2     Top right s coordinate
+     * @param t2     Top right t coordinate
+     * @param red    The red component
+     * @param green  The green component
+     * @param blue   The blue component
+     * @param alpha  The alpha component
+     * @param slot   Texture slot, only used with multitexturing
+     */
+    void writeQuad(ByteBuffer buffer, float x1, float y1, float x2, float y2, float s1, float t1, float s2, float t2,
+                   float red, float green, float blue, float alpha, int slot) {
+        writeQuad(buffer, x1, y1, x1, y2, x2, y2, x2, y1, s1, t1, s2, t2, red, green, blue, alpha, slot);
+    }
+
+    /**
+     * Writes the vertices of a quad with arbitrary corners into specified
+     * buffer, using the vertex layout of this renderer.
+     *
+     * @param buffer Buffer to write into, needs space for 4 vertices
+     * @param x1     Bottom left x position
+     * @param y1     Bottom left y position
+     * @param x2     Top left x position
+     * @param y2     Top left y position
+     * @param x3     Top right x position
+     * @param y3     Top right y position
+     * @param x4     Bottom right x position
+     * @param y4     Bottom right y position
+     * @param s1     Bottom left s coordinate
+     * @param t1     Bottom left t coordinate
+     * @param s2     Top right s coordinate
+     * @param t2     Top right t coordinate
+     * @param red    The red component
+     * @param green  The green component
+     * @param blue   The blue component
+     * @param alpha  The alpha component
+     * @param slot   Texture slot, only used with multitexturing
+     */
+    void writeQuad(ByteBuffer buffer, float x1, float y1, float x2, float y2, float x3, float y3, float x4, float y4,
+                   float s1, float t1, float s2, float t2,
+                   float red, float green, float blue, float alpha, int slot) {
+        /* The two triangles of the quad are built by the element buffer */
+        if (packed) {
+            byte r = toUnsignedByte(red);
+            byte g = toUnsignedByte(green);
+            byte b = toUnsignedByte(blue);
+            byte a = toUnsignedByte(alpha);
+
+            short ps1 = toUnsignedShort(s1);
+            short pt1 = toUnsignedShort(t1);
+            short ps2 = toUnsignedShort(s2);
+            short pt2 = toUnsignedShort(t2);
+
+            if (multitexture) {
+                /* All four bytes hold the slot, the last three are padding */
+                byte ts = (byte) slot;
+                buffer.putFloat(x1).putFloat(y1).put(r).put(g).put(b).put(a).putShort(ps1).putShort(pt1).put(ts).put(ts).put(ts).put(ts);
+                buffer.putFloat(x2).putFloat(y2).put(r).put(g).put(b).put(a).putShort(ps1).putShort(pt2).put(ts).put(ts).put(ts).put(ts);
+                buffer.putFloat(x3).putFloat(y3).put(r).put(g).put(b).put(a).putShort(ps2).putShort(pt2).put(ts).put(ts).put(ts).put(ts);
+                buffer.putFloat(x4).putFloat(y4).put(r).put(g).put(b).put(a).putShort(ps2).putShort(pt1).put(ts).put(ts).put(ts).put(ts);
+            } else {
+                buffer.putFloat(x1).putFloat(y1).put(r).put(g).put(b).put(a).putShort(ps1).putShort(pt1);
+                buffer.putFloat(x2).putFloat(y2).put(r).put(g).put(b).put(a).putShort(ps1).putShort(pt2);
+                buffer.putFloat(x3).putFloat(y3).put(r).put(g).put(b).put(a).putShort(ps2).putShort(pt2);
+                buffer.putFloat(x4).putFloat(y4).put(r).put(g).put(b).put(a).putShort(ps2).putShort(pt1);
+            }
+        } else {
+            if (multitexture) {
+                float ts = slot;
+                buffer.putFloat(x1).putFloat(y1).putFloat(red).putFloat(green).putFloat(blue).putFloat(alpha).putFloat(s1).putFloat(t1).putFloat(ts);
+                buffer.putFloat(x2).putFloat(y2).putFloat(red).putFloat(green).putFloat(blue).putFloat(alpha).putFloat(s1).putFloat(t2).putFloat(ts);
+                buffer.putFloat(x3).putFloat(y3).putFloat(red).putFloat(green).putFloat(blue).putFloat(alpha).putFloat(s2).putFloat(t2).putFloat(ts);
+                buffer.putFloat(x4).putFloat(y4).putFloat(red).putFloat(green).putFloat(blue).putFloat(alpha).putFloat(s2).putFloat(t1).putFloat(ts);
+            } else {
+                buffer.putFloat(x1).putFloat(y1).putFloat(red).putFloat(green).putFloat(blue).putFloat(alpha).putFloat(s1).putFloat(t1);
+                buffer.putFloat(x2).putFloat(y2).putFloat(red).putFloat(green).putFloat(blue).putFloat(alpha).putFloat(s1).putFloat(t2);
+                buffer.putFloat(x3).putFloat(y3).putFloat(red).putFloat(green).putFloat(blue).putFloat(alpha).putFloat(s2).putFloat(t2);
+                buffer.putFloat(x4).putFloat(y4).putFloat(red).putFloat(green).putFloat(blue).putFloat(alpha).putFloat(s2).putFloat(t1);
+            }
+        }
+    }
+
+    /**
+     * Puts a sprite record into the current batch, this is used by every
+     * sprite mode except <code>QUADS</code>.
+     *
+     * @param x1    Bottom left x position
+     * @param y1    Bottom left y position
+     * @param x2    Top right x position
+     * @param y2    Top right y position
+     * @param s1    Bottom left s coordinate
+     * @param t1    Bottom left t coordinate
+     * @param s2    Top right s coordinate
+     * @param t2    Top right t coordinate
+     * @param red   The red component
+     * @param green The green component
+     * @param blue  The blue component
+     * @param alpha The alpha component
+     */
+    private void putSprite(float x1, float y1, float x2, float y2, float s1, float t1, float s2, float t2,
+                           float red, float green, float blue, float alpha) {
+        if (vertices.remaining() < vertexSize) {
             /* We need more space in the buffer, so flush it */
+            stats.forcedFlushes++;
             flush();
         }
 
-        float r = c.getRed();
-        float g = c.getGreen();
-        float b = c.getBlue();
-        float a = c.getAlpha();
+        vertices.putFloat(x1).putFloat(y1).putFloat(x2).putFloat(y2);
+        vertices.putFloat(s1).putFloat(t1).putFloat(s2).putFloat(t2);
+        vertices.put(toUnsignedByte(red)).put(toUnsignedByte(green)).put(toUnsignedByte(blue)).put(toUnsignedByte(alpha));
 
-        vertices.put(x1).put(y1).put(r).put(g).put(b).put(a).put(s1).put(t1);
-        vertices.put(x1).put(y2).put(r).put(g).put(b).put(a).put(s1).put(t2);
-        vertices.put(x2).put(y2).put(r).put(g).put(b).put(a).put(s2).put(t2);
+        numVertices++;
+        batchQuads++;
+    }
 
-        vertices.put(x1).put(y1).put(r).put(g).put(b).put(a).put(s1).put(t1);
-        vertices.put(x2).put(y2).put(r).put(g).put(b).put(a).put(s2).put(t2);
-        vertices.put(x2).put(y1).put(r).put(g).put(b).put(a).put(s2).put(t1);
+    /**
+     * Converts a value in the range from 0f to 1f to a normalized unsigned
+     * byte.
+     *
+     * @param value The value to convert
+     *
+     * @return Normalized unsigned byte
+     */
+    private static byte toUnsignedByte(float value) {
+        return (byte) (value * 255f + 0.5f);
+    }
 
-        numVertices += 6;
+    /**
+     * Converts a value in the range from 0f to 1f to a normalized unsigned
+     * short.
+     *
+     * @param value The value to convert
+     *
+     * @return Normalized unsigned short
+     */
+    private static short toUnsignedShort(float value) {
+        return (short) (value * 65535f + 0.5f);
     }
 
     /**
@@ -375,12 +1149,19 @@ public void drawTextureRegion(float x1, float y1, float x2, float y2, float s1,
      */
     public void dispose() {
         MemoryUtil.memFree(vertices);
+        deleteFences();
 
         if (vao != null) {
             vao.delete();
         }
         vbo.delete();
-        program.delete();
+        if (ebo != null) {
+            ebo.delete();
+        }
+        if (cornerVbo != null) {
+            cornerVbo.delete();
+        }
+        ShaderRegistry.get().release(program);
 
         font.dispose();
         debugFont.dispose();
@@ -396,52 +1177,82 @@ private void setupShaderProgram() {
             vao = null;
         }
 
+        /* Check if the sprite mode is supported */
+        if (mode == SpriteMode.INSTANCED && (vao == null || !gl.hasVertexAttribDivisor())) {
+            mode = SpriteMode.QUADS;
+        }
+        if (mode == SpriteMode.POINTS && vao == null) {
+            mode = SpriteMode.QUADS;
+        }
+        if (mode != SpriteMode.QUADS) {
+            vertexSize = SPRITE_RECORD_SIZE;
+        }
+
         /* Generate Vertex Buffer Object */
         vbo = new VertexBufferObject();
         vbo.bind(GL_ARRAY_BUFFER);
 
-        /* Create FloatBuffer */
-        vertices = MemoryUtil.memAllocFloat(4096);
+        /* Create ByteBuffer */
+        vertices = MemoryUtil.memAlloc(capacity * getSpriteSize());
 
         /* Upload null data to allocate storage for the VBO */
-        long size = vertices.capacity() * Float.BYTES;
-        vbo.uploadData(GL_ARRAY_BUFFER, size, GL_DYNAMIC_DRAW);
+        fences = new long[segments];
+        allocateVertexStorage();
+
+        if (mode == SpriteMode.QUADS) {
+            /* Generate Element Buffer Object, this is also stored in the VAO */
+            ebo = new VertexBufferObject();
+            ebo.bind(GL_ELEMENT_ARRAY_BUFFER);
+            uploadQuadElements(ebo, capacity);
+        } else if (mode == SpriteMode.INSTANCED) {
+            /* Generate the unit quad for instancing as triangle strip */
+            cornerVbo = new VertexBufferObject();
+            cornerVbo.bind(GL_ARRAY_BUFFER);
+            try (MemoryStack stack = MemoryStack.stackPush()) {
+                FloatBuffer corners = stack.mallocFloat(4 * 2);
+                corners.put(0f).put(0f);
+                corners.put(1f).put(0f);
+                corners.put(0f).put(1f);
+                corners.put(1f).put(1f);
+                corners.flip();
+                cornerVbo.uploadData(GL_ARRAY_BUFFER, corners, GL_STATIC_DRAW);
+            }
+        }
 
         /* Initialize variables */
         numVertices = 0;
         drawing = false;
 
-        /* Load shaders */
-        Shader vertexShader, fragmentShader;
-        if (Game.isDefaultContext()) {
-            vertexShader = Shader.loadShader(GL_VERTEX_SHADER, "resources/default.vert");
-            fragmentShader = Shader.loadShader(GL_FRAGMENT_SHADER, "resources/default.frag");
-        } else {
-            vertexShader = Shader.loadShader(GL_VERTEX_SHADER, "resources/legacy.vert");
-            fragmentShader = Shader.loadShader(GL_FRAGMENT_SHADER, "resources/legacy.frag");
+        /* Limit the texture slots to the available texture units */
+        if (multitexture) {
+            textureSlots = Math.max(1, Math.min(textureSlots, gl.glGetInteger(GL_MAX_TEXTURE_IMAGE_UNITS)));
+            slotTextures = new Texture[textureSlots];
         }
+        resetTextureSlots();
 
-        /* Create shader program */
-        program = new ShaderProgram();
-        program.attachShader(vertexShader);
-        program.attachShader(fragmentShader);
+        /* Select shaders, the preprocessor adapts them to the context */
+        String vertexPath = "resources/sprite.vert", geometryPath = null, fragmentOutput = null;
+        if (mode == SpriteMode.POINTS) {
+            vertexPath = "resources/points.vert";
+            geometryPath = "resources/points.geom";
+        } else if (mode == SpriteMode.INSTANCED) {
+            vertexPath = "resources/instanced.vert";
+        }
         if (Game.isDefaultContext()) {
-            program.bindFragmentDataLocation(0, "fragColor");
+            fragmentOutput = "fragColor";
         }
-        program.link();
-        program.use();
+        String[] defines = multitexture ? new String[]{"MULTITEXTURE"} : new String[0];
 
-        /* Delete linked shaders */
-        vertexShader.delete();
-        fragmentShader.delete();
+        /* Get the shared shader program */
+        program = ShaderRegistry.get().acquire(vertexPath, geometryPath, "resources/sprite.frag", fragmentOutput, defines);
+        program.use();
 
         /* Get width and height of framebuffer */
-        long window = GLFW.glfwGetCurrentContext();
         int width, height;
         try (MemoryStack stack = MemoryStack.stackPush()) {
             IntBuffer widthBuffer = stack.mallocInt(1);
             IntBuffer heightBuffer = stack.mallocInt(1);
-            GLFW.glfwGetFramebufferSize(window, widthBuffer, heightBuffer);
+            gl.getFramebufferSize(widthBuffer, heightBuffer);
             width = widthBuffer.get();
             height = heightBuffer.get();
         }
@@ -449,44 +1260,167 @@ private void setupShaderProgram() {
         /* Specify Vertex Pointers */
         specifyVertexAttributes();
 
-        /* Set texture uniform */
-        int uniTex = program.getUniformLocation("texImage");
-        program.setUniform(uniTex, 0);
+        /* Set texture uniforms */
+        if (multitexture) {
+            /* Samplers above the usable slots keep unit 0 and never get sampled */
+            for (int i = 0; i < textureSlots; i++) {
+                int uniTex = program.getUniformLocation("textures[" + i + "]");
+                program.setUniform(uniTex, i);
+            }
+        } else {
+            int uniTex = program.getUniformLocation("texImage");
+            program.setUniform(uniTex, 0);
+        }
+
+        /* Model and view are identity matrices, the projection is orthographic */
+        camera.setProjection(Matrix4f.orthographic(0f, width, 0f, height, -1f, 1f));
+        if (Game.isDefaultContext()) {
+            MatrixBlock.get().bind(program);
+        }
+        updateCamera();
+    }
+
+    /**
+     * Changes the batch capacity, this may only be called while not drawing.
+     *
+     * @param capacity Number of quads that should fit into one batch
+     */
+    private void resize(int capacity) {
+        this.capacity = capacity;
+
+        /* Replace the vertex buffer and the storage of the VBO */
+        MemoryUtil.memFree(vertices);
+        vertices = MemoryUtil.memAlloc(capacity * getSpriteSize());
+        vbo.bind(GL_ARRAY_BUFFER);
+        allocateVertexStorage();
+
+        /* The element buffer has to cover the new capacity */
+        if (mode == SpriteMode.QUADS) {
+            if (vao != null) {
+                vao.bind();
+            }
+            ebo.bind(GL_ELEMENT_ARRAY_BUFFER);
+            uploadQuadElements(ebo, capacity);
+        }
+    }
 
-        /* Set model matrix to identity matrix */
-        Matrix4f model = new Matrix4f();
-        int uniModel = program.getUniformLocation("model");
-        program.setUniform(uniModel, model);
+    /**
+     * Gets the number of bytes a single sprite needs in the vertex buffer.
+     *
+     * @return Size of a sprite in bytes
+     */
+    private int getSpriteSize() {
+        return mode == SpriteMode.QUADS ? 4 * vertexSize : vertexSize;
+    }
 
-        /* Set view matrix to identity matrix */
-        Matrix4f view = new Matrix4f();
-        int uniView = program.getUniformLocation("view");
-        program.setUniform(uniView, view);
+    /**
+     * Uploads the elements for the specified number of quads to an element
+     * buffer, which has to be bound. The elements never change, because every
+     * quad in the batch uses the same pattern of two triangles.
+     *
+     * @param ebo      The element buffer
+     * @param numQuads Number of quads the element buffer should cover
+     */
+    static void uploadQuadElements(VertexBufferObject ebo, int numQuads) {
+        IntBuffer elements = MemoryUtil.memAllocInt(numQuads * 6);
+        for (int i = 0; i < numQuads; i++) {
+            int offset = i * 4;
+            elements.put(offset).put(offset + 1).put(offset + 2);
+            elements.put(offset).put(offset + 2).put(offset + 3);
+        }
+        elements.flip();
 
-        /* Set projection matrix to an orthographic projection */
-        Matrix4f projection = Matrix4f.orthographic(0f, width, 0f, height, -1f, 1f);
-        int uniProjection = program.getUniformLocation("projection");
-        program.setUniform(uniProjection, projection);
+        ebo.uploadData(GL_ELEMENT_ARRAY_BUFFER, elements, GL_STATIC_DRAW);
+        MemoryUtil.memFree(elements);
     }
 
     /**
-     * Specifies the vertex pointers.
+     * Specifies the vertex pointers for the currently bound VBO.
      */
-    private void specifyVertexAttributes() {
+    void specifyVertexAttributes() {
+        if (mode != SpriteMode.QUADS) {
+            specifySpriteAttributes();
+            return;
+        }
+
         /* Specify Vertex Pointer */
         int posAttrib = program.getAttributeLocation("position");
         program.enableVertexAttribute(posAttrib);
-        program.pointVertexAttribute(posAttrib, 2, 8 * Float.BYTES, 0);
+        program.pointVertexAttribute(posAttrib, 2, GL_FLOAT, false, vertexSize, 0);
 
         /* Specify Color Pointer */
         int colAttrib = program.getAttributeLocation("color");
         program.enableVertexAttribute(colAttrib);
-        program.pointVertexAttribute(colAttrib, 4, 8 * Float.BYTES, 2 * Float.BYTES);
+        if (packed) {
+            program.pointVertexAttribute(colAttrib, 4, GL_UNSIGNED_BYTE, true, vertexSize, 2 * Float.BYTES);
+        } else {
+            program.pointVertexAttribute(colAttrib, 4, GL_FLOAT, false, vertexSize, 2 * Float.BYTES);
+        }
 
         /* Specify Texture Pointer */
         int texAttrib = program.getAttributeLocation("texcoord");
         program.enableVertexAttribute(texAttrib);
-        program.pointVertexAttribute(texAttrib, 2, 8 * Float.BYTES, 6 * Float.BYTES);
+        if (packed) {
+            program.pointVertexAttribute(texAttrib, 2, GL_UNSIGNED_SHORT, true, vertexSize, 2 * Float.BYTES + 4 * Byte.BYTES);
+        } else {
+            program.pointVertexAttribute(texAttrib, 2, GL_FLOAT, false, vertexSize, 6 * Float.BYTES);
+        }
+
+        /* Specify Texture Slot Pointer */
+        if (multitexture) {
+            int slotAttrib = program.getAttributeLocation("texslot");
+            program.enableVertexAttribute(slotAttrib);
+            if (packed) {
+                program.pointVertexAttribute(slotAttrib, 1, GL_UNSIGNED_BYTE, false, vertexSize, PACKED_VERTEX_SIZE);
+            } else {
+                program.pointVertexAttribute(slotAttrib, 1, GL_FLOAT, false, vertexSize, VERTEX_SIZE);
+            }
+        }
+    }
+
+    /**
+     * Specifies the vertex pointers for sprite records.
+     */
+    private void specifySpriteAttributes() {
+        if (mode == SpriteMode.INSTANCED) {
+            /* Specify Corner Pointer, this advances per vertex */
+            cornerVbo.bind(GL_ARRAY_BUFFER);
+            int cornerAttrib = program.getAttributeLocation("corner");
+            program.enableVertexAttribute(cornerAttrib);
+            program.pointVertexAttribute(cornerAttrib, 2, 2 * Float.BYTES, 0);
+            vbo.bind(GL_ARRAY_BUFFER);
+        }
+
+        int rectAttrib = program.getAttributeLocation("rect");
+        int uvAttrib = program.getAttributeLocation("uvrect");
+        int colAttrib = program.getAttributeLocation("color");
+        program.enableVertexAttribute(rectAttrib);
+        program.enableVertexAttribute(uvAttrib);
+        program.enableVertexAttribute(colAttrib);
+
+        if (mode == SpriteMode.INSTANCED) {
+            /* The sprite attributes advance per instance */
+            program.setVertexAttributeDivisor(rectAttrib, 1);
+            program.setVertexAttributeDivisor(uvAttrib, 1);
+            program.setVertexAttributeDivisor(colAttrib, 1);
+        }
+        pointSpriteAttributes(0);
+    }
+
+    /**
+     * Sets the pointers of the sprite record attributes.
+     *
+     * @param offset Offset of the first sprite record in the VBO in bytes
+     */
+    private void pointSpriteAttributes(int offset) {
+        int rectAttrib = program.getAttributeLocation("rect");
+        program.pointVertexAttribute(rectAttrib, 4, GL_FLOAT, false, vertexSize, offset);
+
+        int uvAttrib = program.getAttributeLocation("uvrect");
+        program.pointVertexAttribute(uvAttrib, 4, GL_FLOAT, false, vertexSize, offset + 4 * Float.BYTES);
+
+        int colAttrib = program.getAttributeLocation("color");
+        program.pointVertexAttribute(colAttrib, 4, GL_UNSIGNED_BYTE, true, vertexSize, offset + 8 * Float.BYTES);
     }
 
 }
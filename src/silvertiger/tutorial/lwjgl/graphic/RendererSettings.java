@@ -0,0 +1,175 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.graphic;
+
+/**
+ * This class holds the options of a renderer. The setters can be chained and
+ * the values get copied when the renderer is created, so one settings object
+ * can be used for several renderers.
+ *
+ * @author Heiko Brumme
+ */
+public class RendererSettings {
+
+    private int capacity;
+    private int maxCapacity;
+    private int segments;
+    private int textureSlots;
+    private boolean packed;
+    private SpriteMode spriteMode;
+
+    /**
+     * Creates settings for a renderer with a fixed batch capacity of
+     * <code>DEFAULT_CAPACITY</code> quads, no streaming, a single texture per
+     * batch, the default vertex layout and the <code>QUADS</code> sprite
+     * mode.
+     */
+    public RendererSettings() {
+        capacity = Renderer.DEFAULT_CAPACITY;
+        maxCapacity = 0;
+        segments = 1;
+        textureSlots = 1;
+        packed = false;
+        spriteMode = SpriteMode.QUADS;
+    }
+
+    /**
+     * Sets the number of sprites that fit into one batch.
+     *
+     * @param capacity Initial number of sprites per batch
+     *
+     * @return These settings
+     */
+    public RendererSettings setCapacity(int capacity) {
+        this.capacity = capacity;
+        return this;
+    }
+
+    /**
+     * Sets the maximum batch capacity. If a batch between
+     * <code>begin()</code> and <code>end()</code> had to be flushed because it
+     * did not fit, the capacity grows towards the maximum capacity, so that the
+     * next batch of that size needs a single draw call. If it is not set the
+     * capacity is fixed.
+     *
+     * @param maxCapacity Maximum number of sprites per batch
+     *
+     * @return These settings
+     */
+    public RendererSettings setMaxCapacity(int maxCapacity) {
+        this.maxCapacity = maxCapacity;
+        return this;
+    }
+
+    /**
+     * Sets the number of batches the VBO can hold. With more than one segment
+     * every flush writes into the next segment of the VBO, so that it does not
+     * have to wait for the GPU to finish drawing the previous batch. On a 3.2
+     * context the segments get mapped unsynchronized and guarded by fences, on
+     * a 2.1 context the VBO storage gets orphaned instead.
+     *
+     * @param segments Number of segments, 1 disables streaming
+     *
+     * @return These settings
+     */
+    public RendererSettings setSegments(int segments) {
+        this.segments = segments;
+        return this;
+    }
+
+    /**
+     * Sets the number of textures that can be used in one batch. Each vertex
+     * gets the slot of its texture, and the batch only gets flushed if all
+     * slots are in use. The number of slots gets limited by
+     * <code>MAX_TEXTURE_SLOTS</code> and the texture units of the context.
+     * This needs the <code>QUADS</code> sprite mode.
+     *
+     * @param textureSlots Number of textures per batch, 1 disables
+     *                     multitexturing
+     *
+     * @return These settings
+     */
+    public RendererSettings setTextureSlots(int textureSlots) {
+        this.textureSlots = textureSlots;
+        return this;
+    }
+
+    /**
+     * Sets if the packed vertex layout should be used. It needs only half of
+     * the memory per vertex, but texture coordinates get quantized to 16 bit.
+     * This needs the <code>QUADS</code> sprite mode.
+     *
+     * @param packed Whether the packed vertex layout should be used
+     *
+     * @return These settings
+     */
+    public RendererSettings setPacked(boolean packed) {
+        this.packed = packed;
+        return this;
+    }
+
+    /**
+     * Sets the sprite mode. Sprite modes other than <code>QUADS</code> have
+     * their own vertex layout and fall back to <code>QUADS</code> if the
+     * context does not support them.
+     *
+     * @param spriteMode The sprite mode to use
+     *
+     * @return These settings
+     */
+    public RendererSettings setSpriteMode(SpriteMode spriteMode) {
+        this.spriteMode = spriteMode;
+        return this;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the maximum batch capacity.
+     *
+     * @return The maximum capacity, or the capacity if none was set
+     */
+    public int getMaxCapacity() {
+        return maxCapacity > 0 ? maxCapacity : capacity;
+    }
+
+    public int getSegments() {
+        return segments;
+    }
+
+    public int getTextureSlots() {
+        return textureSlots;
+    }
+
+    public boolean isPacked() {
+        return packed;
+    }
+
+    public SpriteMode getSpriteMode() {
+        return spriteMode;
+    }
+
+}
@@ -39,6 +39,11 @@
  */
 public class Shader {
 
+    /**
+     * Stores the backend used for the OpenGL calls.
+     */
+    private final GLBackend gl;
+
     /**
      * Stores the handle of the shader.
      */
@@ -47,11 +52,13 @@ public class Shader {
     /**
      * Creates a shader with specified type. The type in the tutorial should be
      * either <code>GL_VERTEX_SHADER</code> or <code>GL_FRAGMENT_SHADER</code>.
+     * On a 3.2 context <code>GL_GEOMETRY_SHADER</code> is also available.
      *
      * @param type Type of the shader
      */
     public Shader(int type) {
-        id = glCreateShader(type);
+        gl = GLBackends.get();
+        id = gl.glCreateShader(type);
     }
 
     /**
@@ -60,12 +67,12 @@ public Shader(int type) {
      * @param source GLSL Source Code for the shader
      */
     public void source(CharSequence source) {
-        glShaderSource(id, source);
+        gl.glShaderSource(id, source);
     }
 
     /** Compiles the shader and checks it's status afertwards. */
     public void compile() {
-        glCompileShader(id);
+        gl.glCompileShader(id);
 
         checkStatus();
     }
@@ -74,9 +81,9 @@ public void compile() {
      * Checks if the shader was compiled successfully.
      */
     private void checkStatus() {
-        int status = glGetShaderi(id, GL_COMPILE_STATUS);
+        int status = gl.glGetShaderi(id, GL_COMPILE_STATUS);
         if (status != GL_TRUE) {
-            throw new RuntimeException(glGetShaderInfoLog(id));
+            throw new RuntimeException(gl.glGetShaderInfoLog(id));
         }
     }
 
@@ -84,7 +91,7 @@ private void checkStatus() {
      * Deletes the shader.
      */
     public void delete() {
-        glDeleteShader(id);
+        gl.glDeleteShader(id);
     }
 
     /**
@@ -99,7 +106,8 @@ public int getID() {
     /**
      * Creates a shader with specified type and source and compiles it. The type
      * in the tutorial should be either <code>GL_VERTEX_SHADER</code> or
-     * <code>GL_FRAGMENT_SHADER</code>.
+     * <code>GL_FRAGMENT_SHADER</code>, on a 3.2 context also
+     * <code>GL_GEOMETRY_SHADER</code>.
      *
      * @param type   Type of the shader
      * @param source Source of the shader
@@ -123,6 +131,17 @@ public static Shader createShader(int type, CharSequence source) {
      * @return Compiled Shader from specified file
      */
     public static Shader loadShader(int type, String path) {
+        return createShader(type, readSource(path));
+    }
+
+    /**
+     * Reads the source of a shader file without compiling it.
+     *
+     * @param path File path of the shader
+     *
+     * @return Source of the shader
+     */
+    public static String readSource(String path) {
         StringBuilder builder = new StringBuilder();
 
         try (InputStream in = new FileInputStream(path);
@@ -135,9 +154,8 @@ public static Shader loadShader(int type, String path) {
             throw new RuntimeException("Failed to load a shader file!"
                                        + System.lineSeparator() + ex.getMessage());
         }
-        CharSequence source = builder.toString();
 
-        return createShader(type, source);
+        return builder.toString();
     }
 
 }
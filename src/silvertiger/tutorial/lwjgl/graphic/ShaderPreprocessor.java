@@ -0,0 +1,172 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.graphic;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.lwjgl.opengl.GL20.GL_FRAGMENT_SHADER;
+import static org.lwjgl.opengl.GL20.GL_VERTEX_SHADER;
+
+/**
+ * This class preprocesses shader files before they get compiled. It resolves
+ * <code>#include "file"</code> directives relative to the including file,
+ * every file gets included only once. The <code>#version</code> directive is
+ * replaced with the version of the context, followed by macros that hide the
+ * differences between GLSL 1.50 core and GLSL 1.20:
+ * <ul>
+ * <li><code>CORE</code> or <code>LEGACY</code> depending on the context</li>
+ * <li><code>IN</code> and <code>OUT</code> for the stage inputs and
+ * outputs</li>
+ * <li><code>FLAT</code> for flat interpolation, empty on legacy</li>
+ * <li><code>texture</code> and <code>fragColor</code> mapped to their GLSL 1.20
+ * counterparts on legacy</li>
+ * </ul>
+ * After that the defines of the variant get added. Processed sources are
+ * cached by their permutation, so each variant is only built once it is
+ * actually used.
+ *
+ * @author Heiko Brumme
+ */
+public class ShaderPreprocessor {
+
+    private final boolean core;
+    private final Map<String, String> sources;
+
+    /**
+     * Creates a preprocessor for the specified context.
+     *
+     * @param core Whether the shaders are for a 3.2 core context
+     */
+    public ShaderPreprocessor(boolean core) {
+        this.core = core;
+        sources = new HashMap<>();
+    }
+
+    /**
+     * Gets the preprocessed source of a shader variant.
+     *
+     * @param type    Type of the shader
+     * @param path    File path of the shader
+     * @param defines Defines of the variant, either <code>NAME</code> or
+     *                <code>NAME=VALUE</code>
+     *
+     * @return The preprocessed source
+     */
+    public String process(int type, String path, String... defines) {
+        String[] sorted = defines.clone();
+        Arrays.sort(sorted);
+        String key = type + ":" + path + ":" + String.join(",", sorted);
+
+        String source = sources.get(key);
+        if (source == null) {
+            StringBuilder builder = new StringBuilder();
+            appendHeader(builder, type, sorted);
+            include(new File(path), builder, new HashSet<>());
+            source = builder.toString();
+            sources.put(key, source);
+        }
+        return source;
+    }
+
+    /**
+     * Appends a file to the source, resolving its includes.
+     *
+     * @param file     The file to append
+     * @param builder  The source that gets built
+     * @param included Files that were already included
+     */
+    private void include(File file, StringBuilder builder, Set<String> included) {
+        String canonical = file.getAbsoluteFile().toPath().normalize().toString();
+        if (!included.add(canonical)) {
+            return;
+        }
+
+        String text = Shader.readSource(file.getPath());
+        for (String line : text.split("\n")) {
+            String directive = line.trim();
+            if (directive.startsWith("#version")) {
+                /* Replaced by the header */
+                continue;
+            }
+            if (directive.startsWith("#include")) {
+                String name = directive.substring("#include".length()).trim();
+                if (name.length() < 2 || name.charAt(0) != '"' || name.charAt(name.length() - 1) != '"') {
+                    throw new RuntimeException("Invalid include in " + file.getPath() + ": " + directive);
+                }
+                name = name.substring(1, name.length() - 1);
+                include(new File(file.getParentFile(), name), builder, included);
+                continue;
+            }
+            builder.append(line).append("\n");
+        }
+    }
+
+    /**
+     * Appends the version directive, the compatibility macros and the defines
+     * of the variant.
+     *
+     * @param builder The source that gets built
+     * @param type    Type of the shader
+     * @param defines Defines of the variant
+     */
+    private void appendHeader(StringBuilder builder, int type, String[] defines) {
+        if (core) {
+            builder.append("#version 150 core\n");
+            builder.append("#define CORE\n");
+            builder.append("#define IN in\n");
+            builder.append("#define OUT out\n");
+            builder.append("#define FLAT flat\n");
+        } else {
+            builder.append("#version 120\n");
+            builder.append("#define LEGACY\n");
+            if (type == GL_VERTEX_SHADER) {
+                builder.append("#define IN attribute\n");
+            } else {
+                builder.append("#define IN varying\n");
+            }
+            builder.append("#define OUT varying\n");
+            builder.append("#define FLAT\n");
+            builder.append("#define texture texture2D\n");
+            if (type == GL_FRAGMENT_SHADER) {
+                builder.append("#define fragColor gl_FragColor\n");
+            }
+        }
+
+        for (String define : defines) {
+            int index = define.indexOf('=');
+            if (index < 0) {
+                builder.append("#define ").append(define).append("\n");
+            } else {
+                builder.append("#define ").append(define, 0, index)
+                        .append(' ').append(define.substring(index + 1)).append("\n");
+            }
+        }
+    }
+
+}
@@ -23,32 +23,83 @@
  */
 package silvertiger.tutorial.lwjgl.graphic;
 
-import java.nio.FloatBuffer;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
 import silvertiger.tutorial.lwjgl.math.*;
 
 import static org.lwjgl.opengl.GL11.GL_FLOAT;
 import static org.lwjgl.opengl.GL11.GL_TRUE;
 import static org.lwjgl.opengl.GL20.*;
-import static org.lwjgl.opengl.GL30.glBindFragDataLocation;
+import static org.lwjgl.opengl.GL31.GL_INVALID_INDEX;
+import static org.lwjgl.opengl.GL41.GL_PROGRAM_BINARY_LENGTH;
+import static org.lwjgl.opengl.GL41.GL_PROGRAM_BINARY_RETRIEVABLE_HINT;
 
 /**
- * This class represents a shader program.
+ * This class represents a shader program. The locations of the active
+ * uniforms and attributes get looked up after linking and the last value sent
+ * to each uniform is remembered, so setting an unchanged value costs no
+ * OpenGL call. Because of that uniforms of this program should only be set
+ * through this class.
  *
  * @author Heiko Brumme
  */
 public class ShaderProgram {
 
+    /**
+     * Stores the backend used for the OpenGL calls.
+     */
+    private final GLBackend gl;
+
+    /**
+     * Uniforms with a higher location are not cached.
+     */
+    private static final int MAX_CACHED_LOCATION = 1024;
+
+    /**
+     * Marks an integer uniform that has not been set yet.
+     */
+    private static final long UNSET = Long.MIN_VALUE;
+
     /**
      * Stores the handle of the program.
      */
     private final int id;
 
+    /**
+     * Locations of the uniforms and attributes by name.
+     */
+    private final Map<String, Integer> uniforms;
+    private final Map<String, Integer> attributes;
+
+    /**
+     * Last values sent for each uniform location.
+     */
+    private float[][] floatValues;
+    private long[] intValues;
+
+    /**
+     * Off-heap memory the vectors and matrices get written to before
+     * uploading, it grows with the largest uniform array set.
+     */
+    private long scratch;
+    private long scratchSize;
+
     /**
      * Creates a shader program.
      */
     public ShaderProgram() {
-        id = glCreateProgram();
+        gl = GLBackends.get();
+        id = gl.glCreateProgram();
+
+        uniforms = new HashMap<>();
+        attributes = new HashMap<>();
+        floatValues = new float[0][];
+        intValues = new long[0];
     }
 
     /**
@@ -57,7 +108,7 @@ public ShaderProgram() {
      * @param shader Shader to get attached
      */
     public void attachShader(Shader shader) {
-        glAttachShader(id, shader.getID());
+        gl.glAttachShader(id, shader.getID());
     }
 
     /**
@@ -67,16 +118,106 @@ public void attachShader(Shader shader) {
      * @param name   Variable name
      */
     public void bindFragmentDataLocation(int number, CharSequence name) {
-        glBindFragDataLocation(id, number, name);
+        gl.glBindFragDataLocation(id, number, name);
     }
 
     /**
-     * Link this program and check it's status afterwards.
+     * Link this program and check it's status afterwards. After linking the
+     * active uniforms and attributes get looked up once.
      */
     public void link() {
-        glLinkProgram(id);
+        gl.glLinkProgram(id);
 
         checkStatus();
+        reflect();
+    }
+
+    /**
+     * Hints the driver that the binary of this program will be retrieved.
+     * This has to be called before linking.
+     */
+    public void setBinaryRetrievable() {
+        gl.glProgramParameteri(id, GL_PROGRAM_BINARY_RETRIEVABLE_HINT, GL_TRUE);
+    }
+
+    /**
+     * Gets the length of the program binary, this is 0 if the program was not
+     * linked successfully.
+     *
+     * @return Length of the binary in bytes
+     */
+    public int getBinaryLength() {
+        return gl.glGetProgrami(id, GL_PROGRAM_BINARY_LENGTH);
+    }
+
+    /**
+     * Stores the program binary in a buffer.
+     *
+     * @param format Buffer to store the binary format
+     * @param binary Buffer to store the binary, needs at least
+     *               <code>getBinaryLength()</code> bytes remaining
+     */
+    public void getBinary(IntBuffer format, ByteBuffer binary) {
+        gl.glGetProgramBinary(id, null, format, binary);
+    }
+
+    /**
+     * Loads a program binary instead of linking. Unlike <code>link()</code>
+     * this does not throw if the driver rejects the binary, so that the
+     * program can get compiled from source instead.
+     *
+     * @param format Format of the binary
+     * @param binary The program binary
+     *
+     * @return true if the binary was accepted
+     */
+    public boolean loadBinary(int format, ByteBuffer binary) {
+        gl.glProgramBinary(id, format, binary);
+
+        if (gl.glGetProgrami(id, GL_LINK_STATUS) != GL_TRUE) {
+            return false;
+        }
+        reflect();
+        return true;
+    }
+
+    /**
+     * Enumerates the active uniforms and attributes and stores their
+     * locations. Uniform arrays are stored with their name and with the name
+     * of each element. The cached uniform values get discarded, because
+     * linking resets them.
+     */
+    private void reflect() {
+        uniforms.clear();
+        attributes.clear();
+        floatValues = new float[0][];
+        intValues = new long[0];
+
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            IntBuffer size = stack.mallocInt(1);
+            IntBuffer type = stack.mallocInt(1);
+
+            int count = gl.glGetProgrami(id, GL_ACTIVE_UNIFORMS);
+            for (int i = 0; i < count; i++) {
+                String name = gl.glGetActiveUniform(id, i, size, type);
+                if (name.endsWith("[0]")) {
+                    String base = name.substring(0, name.length() - 3);
+                    uniforms.put(base, gl.glGetUniformLocation(id, base));
+                    for (int j = 0; j < size.get(0); j++) {
+                        String element = base + "[" + j + "]";
+                        uniforms.put(element, gl.glGetUniformLocation(id, element));
+                    }
+                } else {
+                    uniforms.put(name, gl.glGetUniformLocation(id, name));
+                }
+            }
+
+            count = gl.glGetProgrami(id, GL_ACTIVE_ATTRIBUTES);
+            for (int i = 0; i < count; i++) {
+                String name = gl.glGetActiveAttrib(id, i, size, type);
+                attributes.put(name, gl.glGetAttribLocation(id, name));
+            }
+        }
     }
 
     /**
@@ -87,7 +228,13 @@ public void link() {
      * @return Location of the attribute
      */
     public int getAttributeLocation(CharSequence name) {
-        return glGetAttribLocation(id, name);
+        String key = name.toString();
+        Integer location = attributes.get(key);
+        if (location == null) {
+            location = gl.glGetAttribLocation(id, key);
+            attributes.put(key, location);
+        }
+        return location;
     }
 
     /**
@@ -96,7 +243,7 @@ public int getAttributeLocation(CharSequence name) {
      * @param location Location of the vertex attribute
      */
     public void enableVertexAttribute(int location) {
-        glEnableVertexAttribArray(location);
+        gl.glEnableVertexAttribArray(location);
     }
 
     /**
@@ -105,7 +252,7 @@ public void enableVertexAttribute(int location) {
      * @param location Location of the vertex attribute
      */
     public void disableVertexAttribute(int location) {
-        glDisableVertexAttribArray(location);
+        gl.glDisableVertexAttribArray(location);
     }
 
     /**
@@ -119,7 +266,39 @@ public void disableVertexAttribute(int location) {
      *                 attribute in bytes
      */
     public void pointVertexAttribute(int location, int size, int stride, int offset) {
-        glVertexAttribPointer(location, size, GL_FLOAT, false, stride, offset);
+        pointVertexAttribute(location, size, GL_FLOAT, false, stride, offset);
+    }
+
+    /**
+     * Sets the vertex attribute pointer with specified data type. Integer
+     * types can get normalized, so that unsigned values get mapped to the range
+     * from 0f to 1f.
+     *
+     * @param location   Location of the vertex attribute
+     * @param size       Number of values per vertex
+     * @param type       Data type of each component, for example
+     *                   <code>GL_FLOAT</code> or <code>GL_UNSIGNED_BYTE</code>
+     * @param normalized Whether integer values should get normalized
+     * @param stride     Offset between consecutive generic vertex attributes
+     *                   in bytes
+     * @param offset     Offset of the first component of the first generic
+     *                   vertex attribute in bytes
+     */
+    public void pointVertexAttribute(int location, int size, int type, boolean normalized, int stride, int offset) {
+        gl.glVertexAttribPointer(location, size, type, normalized, stride, offset);
+    }
+
+    /**
+     * Sets the rate at which a vertex attribute advances during instanced
+     * rendering. This needs OpenGL 3.3 or the <code>ARB_instanced_arrays</code>
+     * extension.
+     *
+     * @param location Location of the vertex attribute
+     * @param divisor  Number of instances that share one value, 0 advances
+     *                 the attribute per vertex
+     */
+    public void setVertexAttributeDivisor(int location, int divisor) {
+        gl.glVertexAttribDivisor(location, divisor);
     }
 
     /**
@@ -130,7 +309,113 @@ public void pointVertexAttribute(int location, int size, int stride, int offset)
      * @return Location of the uniform
      */
     public int getUniformLocation(CharSequence name) {
-        return glGetUniformLocation(id, name);
+        String key = name.toString();
+        Integer location = uniforms.get(key);
+        if (location == null) {
+            location = gl.glGetUniformLocation(id, key);
+            uniforms.put(key, location);
+        }
+        return location;
+    }
+
+    /**
+     * Grows the value caches, so that they can hold specified location.
+     *
+     * @param location Uniform location
+     */
+    private void ensureCached(int location) {
+        if (location < intValues.length) {
+            return;
+        }
+        int length = Math.min(MAX_CACHED_LOCATION, Math.max(16, Integer.highestOneBit(location) << 1));
+        int oldLength = intValues.length;
+        floatValues = Arrays.copyOf(floatValues, length);
+        intValues = Arrays.copyOf(intValues, length);
+        Arrays.fill(intValues, oldLength, length, UNSET);
+    }
+
+    /**
+     * Gets the cached value of a float uniform. A new cache entry holds NaN,
+     * so that it never matches the first value.
+     *
+     * @param location Uniform location
+     * @param size     Number of floats of the uniform
+     *
+     * @return The cached value or null if the location is not cached
+     */
+    private float[] cachedValue(int location, int size) {
+        if (location >= MAX_CACHED_LOCATION) {
+            return null;
+        }
+        ensureCached(location);
+        float[] value = floatValues[location];
+        if (value == null || value.length != size) {
+            value = new float[size];
+            Arrays.fill(value, Float.NaN);
+            floatValues[location] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Checks if the values at the address differ from the last values sent
+     * and updates the cache.
+     *
+     * @param location Uniform location
+     * @param address  Address of the new values
+     * @param size     Number of floats of the uniform
+     *
+     * @return true if the uniform has to be uploaded
+     */
+    private boolean hasChanged(int location, long address, int size) {
+        float[] cached = cachedValue(location, size);
+        if (cached == null) {
+            return true;
+        }
+        boolean changed = false;
+        for (int i = 0; i < size; i++) {
+            float value = MemoryUtil.memGetFloat(address + i * Float.BYTES);
+            if (cached[i] != value) {
+                cached[i] = value;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Forgets the cached values of a range of uniform locations, so that the
+     * next value set to them gets uploaded.
+     *
+     * @param location First uniform location
+     * @param count    Number of locations
+     */
+    private void invalidate(int location, int count) {
+        int end = Math.min(location + count, floatValues.length);
+        for (int i = location; i < end; i++) {
+            floatValues[i] = null;
+        }
+    }
+
+    /**
+     * Gets the off-heap scratch memory, it gets allocated or grown if
+     * necessary.
+     *
+     * @param size Number of floats needed
+     *
+     * @return Address of the scratch memory
+     */
+    private long scratch(int size) {
+        long bytes = (long) size * Float.BYTES;
+        if (scratchSize < bytes) {
+            long address = MemoryUtil.nmemRealloc(scratch, bytes);
+            if (address == MemoryUtil.NULL) {
+                throw new OutOfMemoryError("Could not allocate " + bytes + " bytes for uniforms!");
+            }
+            scratch = address;
+            scratchSize = bytes;
+        }
+        return scratch;
     }
 
     /**
@@ -140,7 +425,17 @@ public int getUniformLocation(CharSequence name) {
      * @param value    Value to set
      */
     public void setUniform(int location, int value) {
-        glUniform1i(location, value);
+        if (location < 0) {
+            return;
+        }
+        if (location < MAX_CACHED_LOCATION) {
+            ensureCached(location);
+            if (intValues[location] == value) {
+                return;
+            }
+            intValues[location] = value;
+        }
+        gl.glUniform1i(location, value);
     }
 
     /**
@@ -150,11 +445,20 @@ public void setUniform(int location, int value) {
      * @param value    Value to set
      */
     public void setUniform(int location, Vector2f value) {
-        try (MemoryStack stack = MemoryStack.stackPush()) {
-            FloatBuffer buffer = stack.mallocFloat(2);
-            value.toBuffer(buffer);
-            glUniform2fv(location, buffer);
+        if (location < 0) {
+            return;
+        }
+        float[] cached = cachedValue(location, 2);
+        if (cached != null) {
+            if (cached[0] == value.x && cached[1] == value.y) {
+                return;
+            }
+            cached[0] = value.x;
+            cached[1] = value.y;
         }
+        long address = scratch(2);
+        value.toAddress(address);
+        gl.nglUniform2fv(location, 1, address);
     }
 
     /**
@@ -164,11 +468,21 @@ public void setUniform(int location, Vector2f value) {
      * @param value    Value to set
      */
     public void setUniform(int location, Vector3f value) {
-        try (MemoryStack stack = MemoryStack.stackPush()) {
-            FloatBuffer buffer = stack.mallocFloat(3);
-            value.toBuffer(buffer);
-            glUniform3fv(location, buffer);
+        if (location < 0) {
+            return;
+        }
+        float[] cached = cachedValue(location, 3);
+        if (cached != null) {
+            if (cached[0] == value.x && cached[1] == value.y && cached[2] == value.z) {
+                return;
+            }
+            cached[0] = value.x;
+            cached[1] = value.y;
+            cached[2] = value.z;
         }
+        long address = scratch(3);
+        value.toAddress(address);
+        gl.nglUniform3fv(location, 1, address);
     }
 
     /**
@@ -178,11 +492,22 @@ public void setUniform(int location, Vector3f value) {
      * @param value    Value to set
      */
     public void setUniform(int location, Vector4f value) {
-        try (MemoryStack stack = MemoryStack.stackPush()) {
-            FloatBuffer buffer = stack.mallocFloat(4);
-            value.toBuffer(buffer);
-            glUniform4fv(location, buffer);
+        if (location < 0) {
+            return;
         }
+        float[] cached = cachedValue(location, 4);
+        if (cached != null) {
+            if (cached[0] == value.x && cached[1] == value.y && cached[2] == value.z && cached[3] == value.w) {
+                return;
+            }
+            cached[0] = value.x;
+            cached[1] = value.y;
+            cached[2] = value.z;
+            cached[3] = value.w;
+        }
+        long address = scratch(4);
+        value.toAddress(address);
+        gl.nglUniform4fv(location, 1, address);
     }
 
     /**
@@ -192,10 +517,13 @@ public void setUniform(int location, Vector4f value) {
      * @param value    Value to set
      */
     public void setUniform(int location, Matrix2f value) {
-        try (MemoryStack stack = MemoryStack.stackPush()) {
-            FloatBuffer buffer = stack.mallocFloat(2 * 2);
-            value.toBuffer(buffer);
-            glUniformMatrix2fv(location, false, buffer);
+        if (location < 0) {
+            return;
+        }
+        long address = scratch(2 * 2);
+        value.toAddress(address);
+        if (hasChanged(location, address, 2 * 2)) {
+            gl.nglUniformMatrix2fv(location, 1, false, address);
         }
     }
 
@@ -206,10 +534,13 @@ public void setUniform(int location, Matrix2f value) {
      * @param value    Value to set
      */
     public void setUniform(int location, Matrix3f value) {
-        try (MemoryStack stack = MemoryStack.stackPush()) {
-            FloatBuffer buffer = stack.mallocFloat(3 * 3);
-            value.toBuffer(buffer);
-            glUniformMatrix3fv(location, false, buffer);
+        if (location < 0) {
+            return;
+        }
+        long address = scratch(3 * 3);
+        value.toAddress(address);
+        if (hasChanged(location, address, 3 * 3)) {
+            gl.nglUniformMatrix3fv(location, 1, false, address);
         }
     }
 
@@ -220,27 +551,89 @@ public void setUniform(int location, Matrix3f value) {
      * @param value    Value to set
      */
     public void setUniform(int location, Matrix4f value) {
-        try (MemoryStack stack = MemoryStack.stackPush()) {
-            FloatBuffer buffer = stack.mallocFloat(4 * 4);
-            value.toBuffer(buffer);
-            glUniformMatrix4fv(location, false, buffer);
+        if (location < 0) {
+            return;
+        }
+        long address = scratch(4 * 4);
+        value.toAddress(address);
+        if (hasChanged(location, address, 4 * 4)) {
+            gl.nglUniformMatrix4fv(location, 1, false, address);
         }
     }
 
+    /**
+     * Sets an uniform array of matrices with one upload. The elements of the
+     * array don't get compared with the last values sent.
+     *
+     * @param location Uniform location of the first array element
+     * @param values   Values to set
+     */
+    public void setUniform(int location, Matrix4f[] values) {
+        setUniform(location, values, 0, values.length);
+    }
+
+    /**
+     * Sets an uniform array of matrices with one upload. The elements of the
+     * array don't get compared with the last values sent.
+     *
+     * @param location Uniform location of the first array element
+     * @param values   Array with the values to set
+     * @param offset   Index of the first value
+     * @param count    Number of values
+     */
+    public void setUniform(int location, Matrix4f[] values, int offset, int count) {
+        if (location < 0 || count == 0) {
+            return;
+        }
+        long address = scratch(count * 4 * 4);
+        for (int i = 0; i < count; i++) {
+            values[offset + i].toAddress(address + i * 4 * 4 * Float.BYTES);
+        }
+        invalidate(location, count);
+        gl.nglUniformMatrix4fv(location, count, false, address);
+    }
+
+    /**
+     * Assigns an uniform block of this program to a binding point. This needs
+     * a 3.2 context.
+     *
+     * @param name    Name of the uniform block
+     * @param binding Index of the binding point
+     *
+     * @return true if the program has an active block with that name
+     */
+    public boolean bindUniformBlock(CharSequence name, int binding) {
+        int index = gl.glGetUniformBlockIndex(id, name);
+        if (index == GL_INVALID_INDEX) {
+            return false;
+        }
+        gl.glUniformBlockBinding(id, index, binding);
+        return true;
+    }
+
+    /**
+     * Getter for the program ID.
+     *
+     * @return Handle of this program
+     */
+    public int getID() {
+        return id;
+    }
+
     /**
      * Use this shader program.
      */
     public void use() {
-        glUseProgram(id);
+        gl.glUseProgram(id);
     }
 
     /**
      * Checks if the program was linked successfully.
      */
     public void checkStatus() {
-        int status = glGetProgrami(id, GL_LINK_STATUS);
+        int status = gl.glGetProgrami(id, GL_LINK_STATUS);
         if (status != GL_TRUE) {
-            throw new RuntimeException(glGetProgramInfoLog(id));
+            throw new RuntimeException(gl.glGetProgramInfoLog(id));
         }
     }
 
@@ -248,7 +641,12 @@ public void checkStatus() {
      * Deletes the shader program.
      */
     public void delete() {
-        glDeleteProgram(id);
+        gl.glDeleteProgram(id);
+        if (scratch != MemoryUtil.NULL) {
+            MemoryUtil.nmemFree(scratch);
+            scratch = MemoryUtil.NULL;
+            scratchSize = 0;
+        }
     }
 
 }
@@ -0,0 +1,184 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.graphic;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import static org.lwjgl.opengl.GL20.GL_FRAGMENT_SHADER;
+import static org.lwjgl.opengl.GL20.GL_VERTEX_SHADER;
+import static org.lwjgl.opengl.GL32.GL_GEOMETRY_SHADER;
+
+/**
+ * This class hands out shared shader programs. Programs are keyed by their
+ * shader sources, so everyone who asks for the same shaders gets the same
+ * program. Each program is reference counted and gets deleted when the last
+ * user releases it.
+ * <p>
+ * Users of a shared program also share its uniforms, so every user should set
+ * the uniforms it relies on when it starts using the program.
+ *
+ * @author Heiko Brumme
+ */
+public class ShaderRegistry {
+
+    /**
+     * The registry shared by the whole application.
+     */
+    private static ShaderRegistry instance;
+
+    /**
+     * This class stores a program together with its reference count.
+     */
+    private static class Entry {
+
+        private final String key;
+        private final ShaderProgram program;
+        private int references;
+
+        Entry(String key, ShaderProgram program) {
+            this.key = key;
+            this.program = program;
+        }
+
+    }
+
+    private final Map<String, Entry> entries;
+    private final Map<ShaderProgram, Entry> programs;
+    private ShaderPreprocessor preprocessor;
+    private ProgramBinaryCache cache;
+
+    /**
+     * Creates an empty shader registry.
+     */
+    public ShaderRegistry() {
+        entries = new HashMap<>();
+        programs = new IdentityHashMap<>();
+    }
+
+    /**
+     * Gets the shared registry of the application.
+     *
+     * @return The shared registry
+     */
+    public static ShaderRegistry get() {
+        if (instance == null) {
+            instance = new ShaderRegistry();
+        }
+        return instance;
+    }
+
+    /**
+     * Gets a shared shader program for specified shader files. The files get
+     * run through the preprocessor with the given defines. If no program
+     * exists for the resulting sources it gets loaded from the program binary
+     * cache or compiled. Every call has to be paired with a call to
+     * <code>release()</code>.
+     *
+     * @param vertexPath     File path of the vertex shader
+     * @param geometryPath   File path of the geometry shader, may be null
+     * @param fragmentPath   File path of the fragment shader
+     * @param fragmentOutput Name of the fragment out color variable, null on
+     *                       a legacy context
+     * @param defines        Defines of the variant, either <code>NAME</code>
+     *                       or <code>NAME=VALUE</code>
+     *
+     * @return Linked shader program
+     */
+    public ShaderProgram acquire(String vertexPath, String geometryPath, String fragmentPath, String fragmentOutput, String... defines) {
+        if (preprocessor == null) {
+            preprocessor = new ShaderPreprocessor(GLBackends.get().isOpenGL32());
+        }
+        String vertexSource = preprocessor.process(GL_VERTEX_SHADER, vertexPath, defines);
+        String geometrySource = geometryPath == null ? null : preprocessor.process(GL_GEOMETRY_SHADER, geometryPath, defines);
+        String fragmentSource = preprocessor.process(GL_FRAGMENT_SHADER, fragmentPath, defines);
+
+        String key = key(vertexSource, geometrySource, fragmentSource, fragmentOutput);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            if (cache == null) {
+                cache = new ProgramBinaryCache();
+            }
+            ShaderProgram program = cache.createProgram(vertexSource, geometrySource, fragmentSource, fragmentOutput);
+            entry = new Entry(key, program);
+            entries.put(key, entry);
+            programs.put(program, entry);
+        }
+        entry.references++;
+        return entry.program;
+    }
+
+    /**
+     * Releases a program that was acquired from this registry. When the last
+     * reference gets released the program is deleted.
+     *
+     * @param program The acquired program
+     */
+    public void release(ShaderProgram program) {
+        Entry entry = programs.get(program);
+        if (entry == null) {
+            throw new IllegalArgumentException("The program was not acquired from this registry!");
+        }
+        entry.references--;
+        if (entry.references == 0) {
+            entries.remove(entry.key);
+            programs.remove(program);
+            program.delete();
+        }
+    }
+
+    /**
+     * Gets the number of users of a program.
+     *
+     * @param program The program
+     *
+     * @return Number of references, 0 if the program is not in this registry
+     */
+    public int getReferenceCount(ShaderProgram program) {
+        Entry entry = programs.get(program);
+        return entry == null ? 0 : entry.references;
+    }
+
+    /**
+     * Builds the registry key of a program from its sources.
+     *
+     * @param sources The shader sources and the fragment output, null entries
+     *                are allowed
+     *
+     * @return Key of the program
+     */
+    private static String key(String... sources) {
+        StringBuilder builder = new StringBuilder();
+        for (String source : sources) {
+            if (source == null) {
+                builder.append("-1:");
+            } else {
+                builder.append(source.length()).append(':').append(source);
+            }
+        }
+        return builder.toString();
+    }
+
+}
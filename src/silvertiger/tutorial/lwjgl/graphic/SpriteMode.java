@@ -0,0 +1,51 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.graphic;
+
+/**
+ * This enum contains the ways the renderer can send sprites to the GPU.
+ *
+ * @author Heiko Brumme
+ */
+public enum SpriteMode {
+
+    /**
+     * Every sprite consists of 4 vertices, which get drawn as two indexed
+     * triangles. This works on every context.
+     */
+    QUADS,
+    /**
+     * Every sprite is a single instance record with its rectangle, texture
+     * rectangle and color, which gets drawn as an instance of a unit quad. This
+     * needs a 3.2 context with instanced arrays.
+     */
+    INSTANCED,
+    /**
+     * Every sprite is a single point with the same record as in
+     * <code>INSTANCED</code> mode, which gets expanded to a quad by a geometry
+     * shader. This needs a 3.2 context.
+     */
+    POINTS
+
+}
@@ -0,0 +1,303 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.graphic;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.lwjgl.system.MemoryUtil;
+
+import static org.lwjgl.opengl.GL11.GL_TRIANGLES;
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_INT;
+import static org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15.GL_STATIC_DRAW;
+
+/**
+ * This class contains quads that don't change every frame, like backgrounds or
+ * tile layers. The quads get recorded once and stay in their own VBO, so that
+ * drawing them needs a single draw call per texture.
+ *
+ * @author Heiko Brumme
+ */
+public class StaticBatch {
+
+    private final GLBackend gl = GLBackends.get();
+    private final Renderer renderer;
+
+    private VertexArrayObject vao;
+    private VertexBufferObject vbo;
+    private VertexBufferObject ebo;
+
+    private ByteBuffer data;
+    private int numQuads;
+    private boolean recording;
+    private boolean valid;
+
+    private Texture[] textures;
+    private int[] rangeStarts;
+    private int numRanges;
+
+    /**
+     * Creates a static batch for specified renderer. Use
+     * <code>Renderer.createStaticBatch()</code> to get one.
+     *
+     * @param renderer The renderer that draws this batch
+     */
+    StaticBatch(Renderer renderer) {
+        this.renderer = renderer;
+        textures = new Texture[4];
+        rangeStarts = new int[4];
+    }
+
+    /**
+     * Begins recording, this discards the previous contents.
+     */
+    public void begin() {
+        if (recording) {
+            throw new IllegalStateException("Static batch is already recording!");
+        }
+        recording = true;
+        valid = false;
+        data = MemoryUtil.memAlloc(64 * 4 * renderer.getVertexSize());
+        numQuads = 0;
+        Arrays.fill(textures, null);
+        numRanges = 0;
+    }
+
+    /**
+     * Ends recording and uploads the recorded quads to the GPU.
+     */
+    public void end() {
+        if (!recording) {
+            throw new IllegalStateException("Static batch isn't recording!");
+        }
+        recording = false;
+        data.flip();
+
+        if (vbo == null) {
+            if (gl.isOpenGL32()) {
+                vao = new VertexArrayObject();
+            }
+            vbo = new VertexBufferObject();
+            ebo = new VertexBufferObject();
+        }
+
+        /* Upload the quads, the VAO stores the pointers and the elements */
+        if (vao != null) {
+            vao.bind();
+        }
+        vbo.bind(GL_ARRAY_BUFFER);
+        vbo.uploadData(GL_ARRAY_BUFFER, data, GL_STATIC_DRAW);
+        renderer.getStats().bytesUploaded += data.limit();
+        renderer.specifyVertexAttributes();
+        ebo.bind(GL_ELEMENT_ARRAY_BUFFER);
+        Renderer.uploadQuadElements(ebo, numQuads);
+
+        MemoryUtil.memFree(data);
+        data = null;
+        valid = true;
+    }
+
+    /**
+     * Draws a texture on specified coordinates.
+     *
+     * @param texture The texture to draw
+     * @param x       X position of the texture
+     * @param y       Y position of the texture
+     */
+    public void drawTexture(Texture texture, float x, float y) {
+        drawTexture(texture, x, y, Color.WHITE);
+    }
+
+    /**
+     * Draws a texture on specified coordinates and with specified color.
+     *
+     * @param texture The texture to draw
+     * @param x       X position of the texture
+     * @param y       Y position of the texture
+     * @param c       The color to use
+     */
+    public void drawTexture(Texture texture, float x, float y, Color c) {
+        float x2 = x + texture.getWidth();
+        float y2 = y + texture.getHeight();
+        drawTextureRegion(texture, x, y, x2, y2, 0f, 0f, 1f, 1f, c);
+    }
+
+    /**
+     * Draws a texture region on specified coordinates.
+     *
+     * @param texture   The texture to draw
+     * @param x         X position of the texture
+     * @param y         Y position of the texture
+     * @param regX      X position of the texture region
+     * @param regY      Y position of the texture region
+     * @param regWidth  Width of the texture region
+     * @param regHeight Height of the texture region
+     */
+    public void drawTextureRegion(Texture texture, float x, float y, float regX, float regY, float regWidth, float regHeight) {
+        drawTextureRegion(texture, x, y, regX, regY, regWidth, regHeight, Color.WHITE);
+    }
+
+    /**
+     * Draws a texture region on specified coordinates.
+     *
+     * @param texture   The texture to draw
+     * @param x         X position of the texture
+     * @param y         Y position of the texture
+     * @param regX      X position of the texture region
+     * @param regY      Y position of the texture region
+     * @param regWidth  Width of the texture region
+     * @param regHeight Height of the texture region
+     * @param c         The color to use
+     */
+    public void drawTextureRegion(Texture texture, float x, float y, float regX, float regY, float regWidth, float regHeight, Color c) {
+        float s1 = regX / texture.getWidth();
+        float t1 = regY / texture.getHeight();
+        float s2 = (regX + regWidth) / texture.getWidth();
+        float t2 = (regY + regHeight) / texture.getHeight();
+
+        drawTextureRegion(texture, x, y, x + regWidth, y + regHeight, s1, t1, s2, t2, c);
+    }
+
+    /**
+     * Draws a texture region on specified coordinates.
+     *
+     * @param texture The texture to draw
+     * @param x1      Bottom left x position
+     * @param y1      Bottom left y position
+     * @param x2      Top right x position
+     * @param y2      Top right y position
+     * @param s1      Bottom left s coordinate
+     * @param t1      Bottom left t coordinate
+     * @param s2      Top right s coordinate
+     * @param t2      Top right t coordinate
+     * @param c       The color to use
+     */
+    public void drawTextureRegion(Texture texture, float x1, float y1, float x2, float y2, float s1, float t1, float s2, float t2, Color c) {
+        if (!recording) {
+            throw new IllegalStateException("Static batch isn't recording!");
+        }
+
+        /* Start a new range if the texture changes */
+        if (numRanges == 0 || textures[numRanges - 1] != texture) {
+            if (numRanges == textures.length) {
+                textures = Arrays.copyOf(textures, numRanges * 2);
+                rangeStarts = Arrays.copyOf(rangeStarts, numRanges * 2);
+            }
+            textures[numRanges] = texture;
+            rangeStarts[numRanges] = numQuads;
+            numRanges++;
+        }
+
+        int quadSize = 4 * renderer.getVertexSize();
+        if (data.remaining() < quadSize) {
+            data = MemoryUtil.memRealloc(data, data.capacity() * 2);
+        }
+
+        /* Every texture gets bound to slot 0 when drawing */
+        renderer.writeQuad(data, x1, y1, x2, y2, s1, t1, s2, t2,
+                           c.getRed(), c.getGreen(), c.getBlue(), c.getAlpha(), 0);
+        numQuads++;
+    }
+
+    /**
+     * Draws the recorded quads. The renderer has to flush its own batch and to
+     * use its shader program before.
+     */
+    void draw() {
+        if (!valid) {
+            return;
+        }
+        RenderStats stats = renderer.getStats();
+
+        if (vao != null) {
+            vao.bind();
+        } else {
+            vbo.bind(GL_ARRAY_BUFFER);
+            ebo.bind(GL_ELEMENT_ARRAY_BUFFER);
+            renderer.specifyVertexAttributes();
+        }
+
+        for (int i = 0; i < numRanges; i++) {
+            int start = rangeStarts[i];
+            int end = (i + 1 < numRanges) ? rangeStarts[i + 1] : numQuads;
+            textures[i].bind();
+            stats.textureBinds++;
+
+            long offset = (long) start * 6 * Integer.BYTES;
+            gl.glDrawElements(GL_TRIANGLES, (end - start) * 6, GL_UNSIGNED_INT, offset);
+            stats.drawCalls++;
+            stats.vertices += (end - start) * 4;
+        }
+    }
+
+    /**
+     * Gets the number of recorded quads.
+     *
+     * @return Number of quads
+     */
+    public int getQuadCount() {
+        return numQuads;
+    }
+
+    /**
+     * Checks if the batch has contents that can be drawn.
+     *
+     * @return true, if the batch got recorded and not invalidated since, else
+     *         false
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Invalidates the batch, it won't be drawn until it gets recorded again.
+     * Call this if the contents of the batch change.
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Deletes the GPU buffers of this batch.
+     */
+    public void delete() {
+        if (data != null) {
+            MemoryUtil.memFree(data);
+            data = null;
+        }
+        if (vao != null) {
+            vao.delete();
+        }
+        if (vbo != null) {
+            vbo.delete();
+            ebo.delete();
+        }
+        vao = null;
+        vbo = null;
+        ebo = null;
+        valid = false;
+    }
+
+}
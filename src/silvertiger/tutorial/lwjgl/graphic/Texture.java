@@ -29,6 +29,7 @@
 
 import static org.lwjgl.opengl.GL11.*;
 import static org.lwjgl.opengl.GL13.GL_CLAMP_TO_BORDER;
+import static org.lwjgl.opengl.GL13.GL_TEXTURE0;
 import static org.lwjgl.stb.STBImage.*;
 
 /**
@@ -38,6 +39,11 @@
  */
 public class Texture {
 
+    /**
+     * Stores the backend used for the OpenGL calls.
+     */
+    private final GLBackend gl;
+
     /**
      * Stores the handle of the texture.
      */
@@ -54,14 +60,26 @@ public class Texture {
 
     /** Creates a texture. */
     public Texture() {
-        id = glGenTextures();
+        gl = GLBackends.get();
+        id = gl.glGenTextures();
     }
 
     /**
      * Binds the texture.
      */
     public void bind() {
-        glBindTexture(GL_TEXTURE_2D, id);
+        gl.glBindTexture(GL_TEXTURE_2D, id);
+    }
+
+    /**
+     * Binds the texture to specified texture unit. The texture unit stays
+     * active afterwards.
+     *
+     * @param unit Texture unit, starting with 0
+     */
+    public void bind(int unit) {
+        gl.glActiveTexture(GL_TEXTURE0 + unit);
+        gl.glBindTexture(GL_TEXTURE_2D, id);
     }
 
     /**
@@ -71,7 +89,7 @@ public void bind() {
      * @param value Value to set
      */
     public void setParameter(int name, int value) {
-        glTexParameteri(GL_TEXTURE_2D, name, value);
+        gl.glTexParameteri(GL_TEXTURE_2D, name, value);
     }
 
     /**
@@ -96,14 +114,14 @@ public void uploadData(int width, int height, ByteBuffer data) {
      * @param data           Pixel data of the image
      */
     public void uploadData(int internalFormat, int width, int height, int format, ByteBuffer data) {
-        glTexImage2D(GL_TEXTURE_2D, 0, internalFormat, width, height, 0, format, GL_UNSIGNED_BYTE, data);
+        gl.glTexImage2D(GL_TEXTURE_2D, 0, internalFormat, width, height, 0, format, GL_UNSIGNED_BYTE, data);
     }
 
     /**
      * Delete the texture.
      */
     public void delete() {
-        glDeleteTextures(id);
+        gl.glDeleteTextures(id);
     }
 
     /**
@@ -32,6 +32,11 @@
  */
 public class VertexArrayObject {
 
+    /**
+     * Stores the backend used for the OpenGL calls.
+     */
+    private final GLBackend gl;
+
     /**
      * Stores the handle of the VAO.
      */
@@ -41,21 +46,22 @@ public class VertexArrayObject {
      * Creates a Vertex Array Object (VAO).
      */
     public VertexArrayObject() {
-        id = glGenVertexArrays();
+        gl = GLBackends.get();
+        id = gl.glGenVertexArrays();
     }
 
     /**
      * Binds the VAO.
      */
     public void bind() {
-        glBindVertexArray(id);
+        gl.glBindVertexArray(id);
     }
 
     /**
      * Deletes the VAO.
      */
     public void delete() {
-        glDeleteVertexArrays(id);
+        gl.glDeleteVertexArrays(id);
     }
 
     /**
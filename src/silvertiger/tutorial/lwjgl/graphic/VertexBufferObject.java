@@ -23,6 +23,7 @@
  */
 package silvertiger.tutorial.lwjgl.graphic;
 
+import java.nio.ByteBuffer;
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 
@@ -35,6 +36,11 @@
  */
 public class VertexBufferObject {
 
+    /**
+     * Stores the backend used for the OpenGL calls.
+     */
+    private final GLBackend gl;
+
     /**
      * Stores the handle of the VBO.
      */
@@ -44,7 +50,8 @@ public class VertexBufferObject {
      * Creates a Vertex Buffer Object (VBO).
      */
     public VertexBufferObject() {
-        id = glGenBuffers();
+        gl = GLBackends.get();
+        id = gl.glGenBuffers();
     }
 
     /**
@@ -54,7 +61,18 @@ public VertexBufferObject() {
      * @param target Target to bind
      */
     public void bind(int target) {
-        glBindBuffer(target, id);
+        gl.glBindBuffer(target, id);
+    }
+
+    /**
+     * Binds this VBO to an indexed binding point, for example of
+     * <code>GL_UNIFORM_BUFFER</code>. This also binds it to the target.
+     *
+     * @param target Target to bind
+     * @param index  Index of the binding point
+     */
+    public void bindBase(int target, int index) {
+        gl.glBindBufferBase(target, index, id);
     }
 
     /**
@@ -67,7 +85,19 @@ public void bind(int target) {
      * @param usage  Usage of the data
      */
     public void uploadData(int target, FloatBuffer data, int usage) {
-        glBufferData(target, data, usage);
+        gl.glBufferData(target, data, usage);
+    }
+
+    /**
+     * Upload data to this VBO with specified target, data and usage. The data
+     * may contain mixed types, like the packed vertices of the renderer.
+     *
+     * @param target Target to upload
+     * @param data   Buffer with the data to upload
+     * @param usage  Usage of the data
+     */
+    public void uploadData(int target, ByteBuffer data, int usage) {
+        gl.glBufferData(target, data, usage);
     }
 
     /**
@@ -80,7 +110,7 @@ public void uploadData(int target, FloatBuffer data, int usage) {
      * @param usage  Usage of the data
      */
     public void uploadData(int target, long size, int usage) {
-        glBufferData(target, size, usage);
+        gl.glBufferData(target, size, usage);
     }
 
     /**
@@ -93,7 +123,19 @@ public void uploadData(int target, long size, int usage) {
      * @param data   Buffer with the data to upload
      */
     public void uploadSubData(int target, long offset, FloatBuffer data) {
-        glBufferSubData(target, offset, data);
+        gl.glBufferSubData(target, offset, data);
+    }
+
+    /**
+     * Upload sub data to this VBO with specified target, offset and data. The
+     * data may contain mixed types, like the packed vertices of the renderer.
+     *
+     * @param target Target to upload
+     * @param offset Offset where the data should go in bytes
+     * @param data   Buffer with the data to upload
+     */
+    public void uploadSubData(int target, long offset, ByteBuffer data) {
+        gl.glBufferSubData(target, offset, data);
     }
 
     /**
@@ -106,14 +148,40 @@ public void uploadSubData(int target, long offset, FloatBuffer data) {
      * @param usage  Usage of the data
      */
     public void uploadData(int target, IntBuffer data, int usage) {
-        glBufferData(target, data, usage);
+        gl.glBufferData(target, data, usage);
+    }
+
+    /**
+     * Maps a range of this VBO into client memory. The target in the tutorial
+     * should be <code>GL_ARRAY_BUFFER</code> most of the time.
+     *
+     * @param target Target to map
+     * @param offset Offset of the range in bytes
+     * @param length Length of the range in bytes
+     * @param access Access flags, for example <code>GL_MAP_WRITE_BIT</code>
+     *
+     * @return Buffer with the mapped range
+     */
+    public ByteBuffer mapRange(int target, long offset, long length, int access) {
+        return gl.glMapBufferRange(target, offset, length, access);
+    }
+
+    /**
+     * Unmaps this VBO after it got mapped with specified target.
+     *
+     * @param target Target to unmap
+     *
+     * @return false, if the data store got corrupted while it was mapped
+     */
+    public boolean unmap(int target) {
+        return gl.glUnmapBuffer(target);
     }
 
     /**
      * Deletes this VBO.
      */
     public void delete() {
-        glDeleteBuffers(id);
+        gl.glDeleteBuffers(id);
     }
 
     /**
@@ -0,0 +1,179 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.math;
+
+/**
+ * This class provides fast approximations of trigonometric functions for the
+ * per frame simulation and rendering code. The results are accurate enough
+ * for positions and rotations on screen, for anything else use
+ * {@link java.lang.Math}.
+ * <p>
+ * Sine and cosine get looked up in a table with 4096 entries per turn and are
+ * linearly interpolated. The absolute error is below 1e-6 for angles within
+ * one turn in either direction. Since the table index is a float the error
+ * grows with the magnitude of the angle, it is about 1e-5 at 100 radians and
+ * 1e-3 at 10000 radians, so angles should be kept wrapped. Beyond about a
+ * million radians the result still lies between -1 and 1 but is unrelated to
+ * the angle. Infinite and NaN angles return NaN. The arc tangent is a
+ * polynomial with an absolute error below 2e-6 radians.
+ *
+ * @author Heiko Brumme
+ */
+public final class FastMath {
+
+    public static final float PI = (float) Math.PI;
+    public static final float TWO_PI = (float) (2.0 * Math.PI);
+    public static final float HALF_PI = (float) (0.5 * Math.PI);
+
+    private static final int SIN_BITS = 12;
+    private static final int SIN_COUNT = 1 << SIN_BITS;
+    private static final int SIN_MASK = SIN_COUNT - 1;
+    private static final int COS_OFFSET = SIN_COUNT / 4;
+
+    private static final float RAD_TO_INDEX = (float) (SIN_COUNT / (2.0 * Math.PI));
+    private static final float DEG_TO_INDEX = SIN_COUNT / 360f;
+
+    /**
+     * Sine table with one additional entry, so that interpolation never has
+     * to wrap around.
+     */
+    private static final float[] SIN_TABLE = new float[SIN_COUNT + 1];
+
+    static {
+        for (int i = 0; i <= SIN_COUNT; i++) {
+            SIN_TABLE[i] = (float) Math.sin(i * 2.0 * Math.PI / SIN_COUNT);
+        }
+        /* Make the quarter turns exact */
+        SIN_TABLE[0] = 0f;
+        SIN_TABLE[SIN_COUNT / 4] = 1f;
+        SIN_TABLE[SIN_COUNT / 2] = 0f;
+        SIN_TABLE[SIN_COUNT * 3 / 4] = -1f;
+        SIN_TABLE[SIN_COUNT] = 0f;
+    }
+
+    private FastMath() {
+        /* Only static methods */
+    }
+
+    /**
+     * Calculates the sine of an angle.
+     *
+     * @param radians Angle in radians
+     *
+     * @return Approximated sine of the angle
+     */
+    public static float sin(float radians) {
+        return lookup(radians * RAD_TO_INDEX, 0);
+    }
+
+    /**
+     * Calculates the cosine of an angle.
+     *
+     * @param radians Angle in radians
+     *
+     * @return Approximated cosine of the angle
+     */
+    public static float cos(float radians) {
+        return lookup(radians * RAD_TO_INDEX, COS_OFFSET);
+    }
+
+    /**
+     * Calculates the sine of an angle.
+     *
+     * @param degrees Angle in degrees
+     *
+     * @return Approximated sine of the angle
+     */
+    public static float sinDeg(float degrees) {
+        return lookup(degrees * DEG_TO_INDEX, 0);
+    }
+
+    /**
+     * Calculates the cosine of an angle.
+     *
+     * @param degrees Angle in degrees
+     *
+     * @return Approximated cosine of the angle
+     */
+    public static float cosDeg(float degrees) {
+        return lookup(degrees * DEG_TO_INDEX, COS_OFFSET);
+    }
+
+    /**
+     * Interpolates between the two table entries around an index.
+     *
+     * @param index  Fractional table index
+     * @param offset Offset in entries, a quarter turn for the cosine
+     *
+     * @return Interpolated sine value
+     */
+    private static float lookup(float index, int offset) {
+        /* The float remainder is exact and keeps the cast below in range */
+        index %= SIN_COUNT;
+        int floor = (int) index;
+        if (index < floor) {
+            floor--;
+        }
+        float fraction = index - floor;
+        int i = (floor + offset) & SIN_MASK;
+        float a = SIN_TABLE[i];
+        return a + (SIN_TABLE[i + 1] - a) * fraction;
+    }
+
+    /**
+     * Calculates the angle of the point (x, y) to the positive x axis, like
+     * {@link Math#atan2(double, double)}. Signed zeros, infinities and NaN are
+     * handled the same way.
+     *
+     * @param y Y coordinate
+     * @param x X coordinate
+     *
+     * @return Approximated angle in radians, in the range of -PI to PI
+     */
+    public static float atan2(float y, float x) {
+        if (Float.isNaN(x) || Float.isNaN(y)) {
+            return Float.NaN;
+        }
+        float absX = Math.abs(x);
+        float absY = Math.abs(y);
+        float a;
+        if (absX == absY) {
+            /* Also covers two infinities, zeros get their angle from the signs */
+            a = absX == 0f ? 0f : 1f;
+        } else {
+            a = Math.min(absX, absY) / Math.max(absX, absY);
+        }
+        float s = a * a;
+        float r = a * (0.99997726f + s * (-0.33262347f + s * (0.19354346f
+                                                              + s * (-0.11643287f + s * (0.05265332f + s * -0.01172120f)))));
+        if (absY > absX) {
+            r = HALF_PI - r;
+        }
+        if (Math.copySign(1f, x) < 0f) {
+            r = PI - r;
+        }
+        return Math.copySign(r, y);
+    }
+
+}
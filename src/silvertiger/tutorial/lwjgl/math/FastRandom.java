@@ -0,0 +1,167 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.math;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class is a small, seedable random number generator based on the
+ * SplitMix64 algorithm that is also used by
+ * {@link java.util.SplittableRandom}. Unlike {@link Math#random()} it has no
+ * shared state, each game world should own its instance. It is not thread
+ * safe, use {@link #split()} to get an independent generator for another
+ * thread. With the same seed {@link #nextLong()} returns the same sequence as
+ * a SplittableRandom.
+ *
+ * @author Heiko Brumme
+ */
+public class FastRandom {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final float FLOAT_UNIT = 1f / (1 << 24);
+
+    /**
+     * Seed source for generators created without a seed.
+     */
+    private static final AtomicLong SEEDER = new AtomicLong(mix64(System.currentTimeMillis()) ^ mix64(System.nanoTime()));
+
+    private long seed;
+
+    /**
+     * Creates a generator with a seed that is different for every instance.
+     */
+    public FastRandom() {
+        this(mix64(SEEDER.getAndAdd(2 * GOLDEN_GAMMA)));
+    }
+
+    /**
+     * Creates a generator with specified seed. Generators with the same seed
+     * produce the same sequence.
+     *
+     * @param seed Initial seed
+     */
+    public FastRandom(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the seed of this generator.
+     *
+     * @param seed New seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Creates a new generator that is seeded from this one.
+     *
+     * @return Independent generator
+     */
+    public FastRandom split() {
+        return new FastRandom(mix64(nextLong() ^ GOLDEN_GAMMA));
+    }
+
+    /**
+     * Returns the next pseudorandom long value.
+     *
+     * @return Random long value
+     */
+    public long nextLong() {
+        seed += GOLDEN_GAMMA;
+        return mix64(seed);
+    }
+
+    /**
+     * Returns the next pseudorandom int value.
+     *
+     * @return Random int value
+     */
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    /**
+     * Returns a pseudorandom int value between zero (inclusive) and the bound
+     * (exclusive).
+     *
+     * @param bound Upper bound, must be positive
+     *
+     * @return Random int value
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("Bound must be positive!");
+        }
+        /* Multiply and shift instead of modulo, the bias is negligible for small bounds */
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * Returns a pseudorandom float value between zero (inclusive) and one
+     * (exclusive).
+     *
+     * @return Random float value
+     */
+    public float nextFloat() {
+        return (nextLong() >>> 40) * FLOAT_UNIT;
+    }
+
+    /**
+     * Returns a pseudorandom float value between the minimum (inclusive) and
+     * the maximum (exclusive).
+     *
+     * @param min Minimum value
+     * @param max Maximum value
+     *
+     * @return Random float value
+     */
+    public float nextFloat(float min, float max) {
+        return min + nextFloat() * (max - min);
+    }
+
+    /**
+     * Returns a pseudorandom boolean value.
+     *
+     * @return Random boolean value
+     */
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    /**
+     * Mixes the bits of a value, this is the finalizer of the MurmurHash3
+     * variant used by SplitMix64.
+     *
+     * @param z Value to mix
+     *
+     * @return Mixed value
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+}
@@ -25,6 +25,8 @@
 
 import java.nio.FloatBuffer;
 
+import static org.lwjgl.system.MemoryUtil.memPutFloat;
+
 /**
  * This class represents a 2x2-Matrix. GLSL equivalent to mat2.
  *
@@ -67,6 +69,23 @@ public final void setIdentity() {
         m10 = 0f;
     }
 
+    /**
+     * Sets the values of this matrix to the values of another matrix.
+     *
+     * @param other The other matrix
+     *
+     * @return This matrix
+     */
+    public Matrix2f set(Matrix2f other) {
+        this.m00 = other.m00;
+        this.m10 = other.m10;
+
+        this.m01 = other.m01;
+        this.m11 = other.m11;
+
+        return this;
+    }
+
     /**
      * Adds this matrix to another matrix.
      *
@@ -75,15 +94,26 @@ public final void setIdentity() {
      * @return Sum of this + other
      */
     public Matrix2f add(Matrix2f other) {
-        Matrix2f result = new Matrix2f();
+        return add(other, new Matrix2f());
+    }
 
-        result.m00 = this.m00 + other.m00;
-        result.m10 = this.m10 + other.m10;
+    /**
+     * Adds this matrix to another matrix and stores the result in a
+     * destination matrix.
+     *
+     * @param other The other matrix
+     * @param dest  The destination matrix, can be this matrix
+     *
+     * @return The destination matrix
+     */
+    public Matrix2f add(Matrix2f other, Matrix2f dest) {
+        dest.m00 = this.m00 + other.m00;
+        dest.m10 = this.m10 + other.m10;
 
-        result.m01 = this.m01 + other.m01;
-        result.m11 = this.m11 + other.m11;
+        dest.m01 = this.m01 + other.m01;
+        dest.m11 = this.m11 + other.m11;
 
-        return result;
+        return dest;
     }
 
     /**
@@ -92,7 +122,18 @@ public Matrix2f add(Matrix2f other) {
      * @return Negated matrix
      */
     public Matrix2f negate() {
-        return multiply(-1f);
+        return negate(new Matrix2f());
+    }
+
+    /**
+     * Negates this matrix and stores the result in a destination matrix.
+     *
+     * @param dest The destination matrix, can be this matrix
+     *
+     * @return The destination matrix
+     */
+    public Matrix2f negate(Matrix2f dest) {
+        return multiply(-1f, dest);
     }
 
     /**
@@ -103,7 +144,26 @@ public Matrix2f negate() {
      * @return Difference of this - other
      */
     public Matrix2f subtract(Matrix2f other) {
-        return this.add(other.negate());
+        return subtract(other, new Matrix2f());
+    }
+
+    /**
+     * Subtracts this matrix from another matrix and stores the result in a
+     * destination matrix.
+     *
+     * @param other The other matrix
+     * @param dest  The destination matrix, can be this matrix
+     *
+     * @return The destination matrix
+     */
+    public Matrix2f subtract(Matrix2f other, Matrix2f dest) {
+        dest.m00 = this.m00 - other.m00;
+        dest.m10 = this.m10 - other.m10;
+
+        dest.m01 = this.m01 - other.m01;
+        dest.m11 = this.m11 - other.m11;
+
+        return dest;
     }
 
     /**
@@ -114,15 +174,26 @@ public Matrix2f subtract(Matrix2f other) {
      * @return Scalar product of this * scalar
      */
     public Matrix2f multiply(float scalar) {
-        Matrix2f result = new Matrix2f();
+        return multiply(scalar, new Matrix2f());
+    }
 
-        result.m00 = this.m00 * scalar;
-        result.m10 = this.m10 * scalar;
+    /**
+     * Multiplies this matrix with a scalar and stores the result in a
+     * destination matrix.
+     *
+     * @param scalar The scalar
+     * @param dest   The destination matrix, can be this matrix
+     *
+     * @return The destination matrix
+     */
+    public Matrix2f multiply(float scalar, Matrix2f dest) {
+        dest.m00 = this.m00 * scalar;
+        dest.m10 = this.m10 * scalar;
 
-        result.m01 = this.m01 * scalar;
-        result.m11 = this.m11 * scalar;
+        dest.m01 = this.m01 * scalar;
+        dest.m11 = this.m11 * scalar;
 
-        return result;
+        return dest;
     }
 
     /**
@@ -133,9 +204,22 @@ public Matrix2f multiply(float scalar) {
      * @return Vector product of this * other
      */
     public Vector2f multiply(Vector2f vector) {
+        return multiply(vector, new Vector2f());
+    }
+
+    /**
+     * Multiplies this matrix to a vector and stores the result in a
+     * destination vector.
+     *
+     * @param vector The vector
+     * @param dest   The destination vector, can be the same as vector
+     *
+     * @return The destination vector
+     */
+    public Vector2f multiply(Vector2f vector, Vector2f dest) {
         float x = this.m00 * vector.x + this.m01 * vector.y;
         float y = this.m10 * vector.x + this.m11 * vector.y;
-        return new Vector2f(x, y);
+        return dest.set(x, y);
     }
 
     /**
@@ -146,15 +230,43 @@ public Vector2f multiply(Vector2f vector) {
      * @return Matrix product of this * other
      */
     public Matrix2f multiply(Matrix2f other) {
-        Matrix2f result = new Matrix2f();
+        return multiply(other, new Matrix2f());
+    }
 
-        result.m00 = this.m00 * other.m00 + this.m01 * other.m10;
-        result.m10 = this.m10 * other.m00 + this.m11 * other.m10;
+    /**
+     * Multiplies this matrix to another matrix and stores the result in a
+     * destination matrix.
+     *
+     * @param other The other matrix
+     * @param dest  The destination matrix, can be this or the other matrix
+     *
+     * @return The destination matrix
+     */
+    public Matrix2f multiply(Matrix2f other, Matrix2f dest) {
+        float m00 = this.m00 * other.m00 + this.m01 * other.m10;
+        float m10 = this.m10 * other.m00 + this.m11 * other.m10;
 
-        result.m01 = this.m00 * other.m01 + this.m01 * other.m11;
-        result.m11 = this.m10 * other.m01 + this.m11 * other.m11;
+        float m01 = this.m00 * other.m01 + this.m01 * other.m11;
+        float m11 = this.m10 * other.m01 + this.m11 * other.m11;
+
+        dest.m00 = m00;
+        dest.m10 = m10;
+
+        dest.m01 = m01;
+        dest.m11 = m11;
+
+        return dest;
+    }
 
-        return result;
+    /**
+     * Multiplies this matrix to another matrix in place.
+     *
+     * @param other The other matrix
+     *
+     * @return This matrix
+     */
+    public Matrix2f multiplyLocal(Matrix2f other) {
+        return multiply(other, this);
     }
 
     /**
@@ -163,15 +275,30 @@ public Matrix2f multiply(Matrix2f other) {
      * @return Transposed matrix
      */
     public Matrix2f transpose() {
-        Matrix2f result = new Matrix2f();
+        return transpose(new Matrix2f());
+    }
+
+    /**
+     * Transposes this matrix and stores the result in a destination matrix.
+     *
+     * @param dest The destination matrix, can be this matrix
+     *
+     * @return The destination matrix
+     */
+    public Matrix2f transpose(Matrix2f dest) {
+        float m00 = this.m00;
+        float m10 = this.m01;
+
+        float m01 = this.m10;
+        float m11 = this.m11;
 
-        result.m00 = this.m00;
-        result.m10 = this.m01;
+        dest.m00 = m00;
+        dest.m10 = m10;
 
-        result.m01 = this.m10;
-        result.m11 = this.m11;
+        dest.m01 = m01;
+        dest.m11 = m11;
 
-        return result;
+        return dest;
     }
 
     /**
@@ -185,4 +312,19 @@ public void toBuffer(FloatBuffer buffer) {
         buffer.flip();
     }
 
+    /**
+     * Stores the matrix at a given off-heap address, in the same order as
+     * <code>toBuffer(FloatBuffer)</code>. The address needs space for 4
+     * floats.
+     *
+     * @param address The address to store the matrix data
+     */
+    public void toAddress(long address) {
+        memPutFloat(address, m00);
+        memPutFloat(address + 4, m10);
+
+        memPutFloat(address + 8, m01);
+        memPutFloat(address + 12, m11);
+    }
+
 }
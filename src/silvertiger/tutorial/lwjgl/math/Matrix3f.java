@@ -25,6 +25,8 @@
 
 import java.nio.FloatBuffer;
 
+import static org.lwjgl.system.MemoryUtil.memPutFloat;
+
 /**
  * This class represents a 3x3-Matrix. GLSL equivalent to mat3.
  *
@@ -80,6 +82,29 @@ public final void setIdentity() {
         m21 = 0f;
     }
 
+    /**
+     * Sets the values of this matrix to the values of another matrix.
+     *
+     * @param other The other matrix
+     *
+     * @return This matrix
+     */
+    public Matrix3f set(Matrix3f other) {
+        this.m00 = other.m00;
+        this.m10 = other.m10;
+        this.m20 = other.m20;
+
+        this.m01 = other.m01;
+        this.m11 = other.m11;
+        this.m21 = other.m21;
+
+        this.m02 = other.m02;
+        this.m12 = other.m12;
+        this.m22 = other.m22;
+
+        return this;
+    }
+
     /**
      * Adds this matrix to another matrix.
      *
@@ -88,21 +113,32 @@ public final void setIdentity() {
      * @return Sum of this + other
      */
     public Matrix3f add(Matrix3f other) {
-        Matrix3f result = new Matrix3f();
+        return add(other, new Matrix3f());
+    }
 
-        result.m00 = this.m00 + other.m00;
-        result.m10 = this.m10 + other.m10;
-        result.m20 = this.m20 + other.m20;
+    /**
+     * Adds this matrix to another matrix and stores the result in a
+     * destination matrix.
+     *
+     * @param other The other matrix
+     * @param dest  The destination matrix, can be this matrix
+     *
+     * @return The destination matrix
+     */
+    public Matrix3f add(Matrix3f other, Matrix3f dest) {
+        dest.m00 = this.m00 + other.m00;
+        dest.m10 = this.m10 + other.m10;
+        dest.m20 = this.m20 + other.m20;
 
-        result.m01 = this.m01 + other.m01;
-        result.m11 = this.m11 + other.m11;
-        result.m21 = this.m21 + other.m21;
+        dest.m01 = this.m01 + other.m01;
+        dest.m11 = this.m11 + other.m11;
+        dest.m21 = this.m21 + other.m21;
 
-        result.m02 = this.m02 + other.m02;
-        result.m12 = this.m12 + other.m12;
-        result.m22 = this.m22 + other.m22;
+        dest.m02 = this.m02 + other.m02;
+        dest.m12 = this.m12 + other.m12;
+        dest.m22 = this.m22 + other.m22;
 
-        return result;
+        return dest;
     }
 
     /**
@@ -111,7 +147,18 @@ public Matrix3f add(Matrix3f other) {
      * @return Negated matrix
      */
     public Matrix3f negate() {
-        return multiply(-1f);
+        return negate(new Matrix3f());
+    }
+
+    /**
+     * Negates this matrix and stores the result in a destination matrix.
+     *
+     * @param dest The destination matrix, can be this matrix
+     *
+     * @return The destination matrix
+     */
+    public Matrix3f negate(Matrix3f dest) {
+        return multiply(-1f, dest);
     }
 
     /**
@@ -122,7 +169,32 @@ public Matrix3f negate() {
      * @return Difference of this - other
      */
     public Matrix3f subtract(Matrix3f other) {
-        return this.add(other.negate());
+        return subtract(other, new Matrix3f());
+    }
+
+    /**
+     * Subtracts this matrix from another matrix and stores the result in a
+     * destination matrix.
+     *
+     * @param other The other matrix
+     * @param dest  The destination matrix, can be this matrix
+     *
+     * @return The destination matrix
+     */
+    public Matrix3f subtract(Matrix3f other, Matrix3f dest) {
+        dest.m00 = this.m00 - other.m00;
+        dest.m10 = this.m10 - other.m10;
+        dest.m20 = this.m20 - other.m20;
+
+        dest.m01 = this.m01 - other.m01;
+        dest.m11 = this.m11 - other.m11;
+        dest.m21 = this.m21 - other.m21;
+
+        dest.m02 = this.m02 - other.m02;
+        dest.m12 = this.m12 - other.m12;
+        dest.m22 = this.m22 - other.m22;
+
+        return dest;
     }
 
     /**
@@ -133,21 +205,32 @@ public Matrix3f subtract(Matrix3f other) {
      * @return Scalar product of this * scalar
      */
     public Matrix3f multiply(float scalar) {
-        Matrix3f result = new Matrix3f();
+        return multiply(scalar, new Matrix3f());
+    }
 
-        result.m00 = this.m00 * scalar;
-        result.m10 = this.m10 * scalar;
-        result.m20 = this.m20 * scalar;
+    /**
+     * Multiplies this matrix with a scalar and stores the result in a
+     * destination matrix.
+     *
+     * @param scalar The scalar
+     * @param dest   The destination matrix, can be this matrix
+     *
+     * @return The destination matrix
+     */
+    public Matrix3f multiply(float scalar, Matrix3f dest) {
+        dest.m00 = this.m00 * scalar;
+        dest.m10 = this.m10 * scalar;
+        dest.m20 = this.m20 * scalar;
 
-        result.m01 = this.m01 * scalar;
-        result.m11 = this.m11 * scalar;
-        result.m21 = this.m21 * scalar;
+        dest.m01 = this.m01 * scalar;
+        dest.m11 = this.m11 * scalar;
+        dest.m21 = this.m21 * scalar;
 
-        result.m02 = this.m02 * scalar;
-        result.m12 = this.m12 * scalar;
-        result.m22 = this.m22 * scalar;
+        dest.m02 = this.m02 * scalar;
+        dest.m12 = this.m12 * scalar;
+        dest.m22 = this.m22 * scalar;
 
-        return result;
+        return dest;
     }
 
     /**
@@ -158,10 +241,23 @@ public Matrix3f multiply(float scalar) {
      * @return Vector product of this * other
      */
     public Vector3f multiply(Vector3f vector) {
+        return multiply(vector, new Vector3f());
+    }
+
+    /**
+     * Multiplies this matrix to a vector and stores the result in a
+     * destination vector.
+     *
+     * @param vector The vector
+     * @param dest   The destination vector, can be the same as vector
+     *
+     * @return The destination vector
+     */
+    public Vector3f multiply(Vector3f vector, Vector3f dest) {
         float x = this.m00 * vector.x + this.m01 * vector.y + this.m02 * vector.z;
         float y = this.m10 * vector.x + this.m11 * vector.y + this.m12 * vector.z;
         float z = this.m20 * vector.x + this.m21 * vector.y + this.m22 * vector.z;
-        return new Vector3f(x, y, z);
+        return dest.set(x, y, z);
     }
 
     /**
@@ -172,21 +268,55 @@ public Vector3f multiply(Vector3f vector) {
      * @return Matrix product of this * other
      */
     public Matrix3f multiply(Matrix3f other) {
-        Matrix3f result = new Matrix3f();
+        return multiply(other, new Matrix3f());
+    }
 
-        result.m00 = this.m00 * other.m00 + this.m01 * other.m10 + this.m02 * other.m20;
-        result.m10 = this.m10 * other.m00 + this.m11 * other.m10 + this.m12 * other.m20;
-        result.m20 = this.m20 * other.m00 + this.m21 * other.m10 + this.m22 * other.m20;
+    /**
+     * Multiplies this matrix to another matrix and stores the result in a
+     * destination matrix.
+     *
+     * @param other The other matrix
+     * @param dest  The destination matrix, can be this or the other matrix
+     *
+     * @return The destination matrix
+     */
+    public Matrix3f multiply(Matrix3f other, Matrix3f dest) {
+        float m00 = this.m00 * other.m00 + this.m01 * other.m10 + this.m02 * other.m20;
+        float m10 = this.m10 * other.m00 + this.m11 * other.m10 + this.m12 * other.m20;
+        float m20 = this.m20 * other.m00 + this.m21 * other.m10 + this.m22 * other.m20;
+
+        float m01 = this.m00 * other.m01 + this.m01 * other.m11 + this.m02 * other.m21;
+        float m11 = this.m10 * other.m01 + this.m11 * other.m11 + this.m12 * other.m21;
+        float m21 = this.m20 * other.m01 + this.m21 * other.m11 + this.m22 * other.m21;
 
-        result.m01 = this.m00 * other.m01 + this.m01 * other.m11 + this.m02 * other.m21;
-        result.m11 = this.m10 * other.m01 + this.m11 * other.m11 + this.m12 * other.m21;
-        result.m21 = this.m20 * other.m01 + this.m21 * other.m11 + this.m22 * other.m21;
+        float m02 = this.m00 * other.m02 + this.m01 * other.m12 + this.m02 * other.m22;
+        float m12 = this.m10 * other.m02 + this.m11 * other.m12 + this.m12 * other.m22;
+        float m22 = this.m20 * other.m02 + this.m21 * other.m12 + this.m22 * other.m22;
 
-        result.m02 = this.m00 * other.m02 + this.m01 * other.m12 + this.m02 * other.m22;
-        result.m12 = this.m10 * other.m02 + this.m11 * other.m12 + this.m12 * other.m22;
-        result.m22 = this.m20 * other.m02 + this.m21 * other.m12 + this.m22 * other.m22;
+        dest.m00 = m00;
+        dest.m10 = m10;
+        dest.m20 = m20;
 
-        return result;
+        dest.m01 = m01;
+        dest.m11 = m11;
+        dest.m21 = m21;
+
+        dest.m02 = m02;
+        dest.m12 = m12;
+        dest.m22 = m22;
+
+        return dest;
+    }
+
+    /**
+     * Multiplies this matrix to another matrix in place.
+     *
+     * @param other The other matrix
+     *
+     * @return This matrix
+     */
+    public Matrix3f multiplyLocal(Matrix3f other) {
+        return multiply(other, this);
     }
 
     /**
@@ -195,21 +325,42 @@ public Matrix3f multiply(Matrix3f other) {
      * @return Transposed matrix
      */
     public Matrix3f transpose() {
-        Matrix3f result = new Matrix3f();
+        return transpose(new Matrix3f());
+    }
+
+    /**
+     * Transposes this matrix and stores the result in a destination matrix.
+     *
+     * @param dest The destination matrix, can be this matrix
+     *
+     * @return The destination matrix
+     */
+    public Matrix3f transpose(Matrix3f dest) {
+        float m00 = this.m00;
+        float m10 = this.m01;
+        float m20 = this.m02;
+
+        float m01 = this.m10;
+        float m11 = this.m11;
+        float m21 = this.m12;
 
-        result.m00 = this.m00;
-        result.m10 = this.m01;
-        result.m20 = this.m02;
+        float m02 = this.m20;
+        float m12 = this.m21;
+        float m22 = this.m22;
 
-        result.m01 = this.m10;
-        result.m11 = this.m11;
-        result.m21 = this.m12;
+        dest.m00 = m00;
+        dest.m10 = m10;
+        dest.m20 = m20;
 
-        result.m02 = this.m20;
-        result.m12 = this.m21;
-        result.m22 = this.m22;
+        dest.m01 = m01;
+        dest.m11 = m11;
+        dest.m21 = m21;
 
-        return result;
+        dest.m02 = m02;
+        dest.m12 = m12;
+        dest.m22 = m22;
+
+        return dest;
     }
 
     /**
@@ -224,4 +375,25 @@ public void toBuffer(FloatBuffer buffer) {
         buffer.flip();
     }
 
+    /**
+     * Stores the matrix at a given off-heap address, in the same order as
+     * <code>toBuffer(FloatBuffer)</code>. The address needs space for 9
+     * floats.
+     *
+     * @param address The address to store the matrix data
+     */
+    public void toAddress(long address) {
+        memPutFloat(address, m00);
+        memPutFloat(address + 4, m10);
+        memPutFloat(address + 8, m20);
+
+        memPutFloat(address + 12, m01);
+        memPutFloat(address + 16, m11);
+        memPutFloat(address + 20, m21);
+
+        memPutFloat(address + 24, m02);
+        memPutFloat(address + 28, m12);
+        memPutFloat(address + 32, m22);
+    }
+
 }
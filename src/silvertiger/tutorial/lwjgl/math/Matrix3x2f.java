@@ -0,0 +1,405 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.math;
+
+import java.nio.FloatBuffer;
+
+import static org.lwjgl.system.MemoryUtil.memPutFloat;
+
+/**
+ * This class represents an affine 2D transformation, stored as the upper two
+ * rows of a 3x3-Matrix. The first two columns hold the linear part and the
+ * third column holds the translation. GLSL equivalent to mat3x2.
+ *
+ * @author Heiko Brumme
+ */
+public class Matrix3x2f {
+
+    private float m00, m01, m02;
+    private float m10, m11, m12;
+
+    /**
+     * Creates an identity transformation.
+     */
+    public Matrix3x2f() {
+        setIdentity();
+    }
+
+    /**
+     * Creates an affine transformation with specified columns.
+     *
+     * @param col1 Vector with values of the first column
+     * @param col2 Vector with values of the second column
+     * @param col3 Vector with the translation
+     */
+    public Matrix3x2f(Vector2f col1, Vector2f col2, Vector2f col3) {
+        m00 = col1.x;
+        m10 = col1.y;
+
+        m01 = col2.x;
+        m11 = col2.y;
+
+        m02 = col3.x;
+        m12 = col3.y;
+    }
+
+    /**
+     * Sets this matrix to the identity transformation.
+     */
+    public final void setIdentity() {
+        m00 = 1f;
+        m11 = 1f;
+
+        m01 = 0f;
+        m02 = 0f;
+        m10 = 0f;
+        m12 = 0f;
+    }
+
+    /**
+     * Sets the values of this matrix to the values of another matrix.
+     *
+     * @param other The other matrix
+     *
+     * @return This matrix
+     */
+    public Matrix3x2f set(Matrix3x2f other) {
+        this.m00 = other.m00;
+        this.m10 = other.m10;
+
+        this.m01 = other.m01;
+        this.m11 = other.m11;
+
+        this.m02 = other.m02;
+        this.m12 = other.m12;
+
+        return this;
+    }
+
+    /**
+     * Combines this transformation with another transformation. The other
+     * transformation gets applied first.
+     *
+     * @param other The other matrix
+     *
+     * @return Matrix product of this * other
+     */
+    public Matrix3x2f multiply(Matrix3x2f other) {
+        return multiply(other, new Matrix3x2f());
+    }
+
+    /**
+     * Combines this transformation with another transformation and stores the
+     * result in a destination matrix. The other transformation gets applied
+     * first.
+     *
+     * @param other The other matrix
+     * @param dest  The destination matrix, can be this or the other matrix
+     *
+     * @return The destination matrix
+     */
+    public Matrix3x2f multiply(Matrix3x2f other, Matrix3x2f dest) {
+        float m00 = this.m00 * other.m00 + this.m01 * other.m10;
+        float m10 = this.m10 * other.m00 + this.m11 * other.m10;
+
+        float m01 = this.m00 * other.m01 + this.m01 * other.m11;
+        float m11 = this.m10 * other.m01 + this.m11 * other.m11;
+
+        float m02 = this.m00 * other.m02 + this.m01 * other.m12 + this.m02;
+        float m12 = this.m10 * other.m02 + this.m11 * other.m12 + this.m12;
+
+        dest.m00 = m00;
+        dest.m10 = m10;
+
+        dest.m01 = m01;
+        dest.m11 = m11;
+
+        dest.m02 = m02;
+        dest.m12 = m12;
+
+        return dest;
+    }
+
+    /**
+     * Combines this transformation with another transformation in place. The
+     * other transformation gets applied first.
+     *
+     * @param other The other matrix
+     *
+     * @return This matrix
+     */
+    public Matrix3x2f multiplyLocal(Matrix3x2f other) {
+        return multiply(other, this);
+    }
+
+    /**
+     * Calculates the determinant of the linear part.
+     *
+     * @return Determinant of this matrix
+     */
+    public float determinant() {
+        return m00 * m11 - m01 * m10;
+    }
+
+    /**
+     * Inverts this transformation.
+     *
+     * @return Inverted matrix
+     */
+    public Matrix3x2f invert() {
+        return invert(new Matrix3x2f());
+    }
+
+    /**
+     * Inverts this transformation and stores the result in a destination
+     * matrix.
+     *
+     * @param dest The destination matrix, can be this matrix
+     *
+     * @return The destination matrix
+     */
+    public Matrix3x2f invert(Matrix3x2f dest) {
+        float det = determinant();
+        if (det == 0f) {
+            throw new IllegalStateException("Matrix is not invertible!");
+        }
+        float invDet = 1f / det;
+
+        float m00 = this.m11 * invDet;
+        float m10 = -this.m10 * invDet;
+
+        float m01 = -this.m01 * invDet;
+        float m11 = this.m00 * invDet;
+
+        float m02 = -(m00 * this.m02 + m01 * this.m12);
+        float m12 = -(m10 * this.m02 + m11 * this.m12);
+
+        dest.m00 = m00;
+        dest.m10 = m10;
+
+        dest.m01 = m01;
+        dest.m11 = m11;
+
+        dest.m02 = m02;
+        dest.m12 = m12;
+
+        return dest;
+    }
+
+    /**
+     * Transforms a point with this matrix.
+     *
+     * @param point The point
+     *
+     * @return Transformed point
+     */
+    public Vector2f multiply(Vector2f point) {
+        return multiply(point, new Vector2f());
+    }
+
+    /**
+     * Transforms a point with this matrix and stores the result in a
+     * destination vector.
+     *
+     * @param point The point
+     * @param dest  The destination vector, can be the same as point
+     *
+     * @return The destination vector
+     */
+    public Vector2f multiply(Vector2f point, Vector2f dest) {
+        float x = this.m00 * point.x + this.m01 * point.y + this.m02;
+        float y = this.m10 * point.x + this.m11 * point.y + this.m12;
+        return dest.set(x, y);
+    }
+
+    /**
+     * Transforms an array of points, stored as consecutive x and y values.
+     * Source and destination can be the same array.
+     *
+     * @param src        Array with the points to transform
+     * @param srcOffset  Index of the first source value
+     * @param dest       Array to store the transformed points
+     * @param destOffset Index of the first destination value
+     * @param count      Number of points
+     */
+    public void transform(float[] src, int srcOffset, float[] dest, int destOffset, int count) {
+        for (int i = 0; i < count; i++) {
+            float x = src[srcOffset++];
+            float y = src[srcOffset++];
+            dest[destOffset++] = m00 * x + m01 * y + m02;
+            dest[destOffset++] = m10 * x + m11 * y + m12;
+        }
+    }
+
+    /**
+     * Applies a translation before this transformation.
+     *
+     * @param x x coordinate of translation vector
+     * @param y y coordinate of translation vector
+     *
+     * @return This matrix
+     */
+    public Matrix3x2f translateLocal(float x, float y) {
+        m02 += m00 * x + m01 * y;
+        m12 += m10 * x + m11 * y;
+        return this;
+    }
+
+    /**
+     * Applies a rotation before this transformation.
+     *
+     * @param angle Angle of rotation in degrees
+     *
+     * @return This matrix
+     */
+    public Matrix3x2f rotateLocal(float angle) {
+        float c = FastMath.cosDeg(angle);
+        float s = FastMath.sinDeg(angle);
+
+        float m00 = this.m00 * c + this.m01 * s;
+        float m10 = this.m10 * c + this.m11 * s;
+
+        float m01 = this.m01 * c - this.m00 * s;
+        float m11 = this.m11 * c - this.m10 * s;
+
+        this.m00 = m00;
+        this.m10 = m10;
+        this.m01 = m01;
+        this.m11 = m11;
+
+        return this;
+    }
+
+    /**
+     * Applies a scaling before this transformation.
+     *
+     * @param x Scale factor along the x coordinate
+     * @param y Scale factor along the y coordinate
+     *
+     * @return This matrix
+     */
+    public Matrix3x2f scaleLocal(float x, float y) {
+        m00 *= x;
+        m10 *= x;
+        m01 *= y;
+        m11 *= y;
+        return this;
+    }
+
+    /**
+     * Stores the matrix in a given Buffer.
+     *
+     * @param buffer The buffer to store the matrix data
+     */
+    public void toBuffer(FloatBuffer buffer) {
+        buffer.put(m00).put(m10);
+        buffer.put(m01).put(m11);
+        buffer.put(m02).put(m12);
+        buffer.flip();
+    }
+
+    /**
+     * Stores the matrix at a given off-heap address, in the same order as
+     * <code>toBuffer(FloatBuffer)</code>. The address needs space for 6
+     * floats.
+     *
+     * @param address The address to store the matrix data
+     */
+    public void toAddress(long address) {
+        memPutFloat(address, m00);
+        memPutFloat(address + 4, m10);
+
+        memPutFloat(address + 8, m01);
+        memPutFloat(address + 12, m11);
+
+        memPutFloat(address + 16, m02);
+        memPutFloat(address + 20, m12);
+    }
+
+    /**
+     * Gets a single value of this matrix.
+     *
+     * @param row    Index of the row
+     * @param column Index of the column
+     *
+     * @return The value at specified row and column
+     */
+    public float get(int row, int column) {
+        if (row < 0 || row >= 2 || column < 0 || column >= 3) {
+            throw new IllegalArgumentException("Invalid matrix index!");
+        }
+        switch (row * 3 + column) {
+            case 0:
+                return m00;
+            case 1:
+                return m01;
+            case 2:
+                return m02;
+            case 3:
+                return m10;
+            case 4:
+                return m11;
+            case 5:
+                return m12;
+            default:
+                throw new IllegalArgumentException("Invalid matrix index!");
+        }
+    }
+
+    /**
+     * Creates a translation transformation.
+     *
+     * @param x x coordinate of translation vector
+     * @param y y coordinate of translation vector
+     *
+     * @return Translation matrix
+     */
+    public static Matrix3x2f translate(float x, float y) {
+        return new Matrix3x2f().translateLocal(x, y);
+    }
+
+    /**
+     * Creates a rotation transformation around the origin.
+     *
+     * @param angle Angle of rotation in degrees
+     *
+     * @return Rotation matrix
+     */
+    public static Matrix3x2f rotate(float angle) {
+        return new Matrix3x2f().rotateLocal(angle);
+    }
+
+    /**
+     * Creates a scaling transformation.
+     *
+     * @param x Scale factor along the x coordinate
+     * @param y Scale factor along the y coordinate
+     *
+     * @return Scaling matrix
+     */
+    public static Matrix3x2f scale(float x, float y) {
+        return new Matrix3x2f().scaleLocal(x, y);
+    }
+
+}
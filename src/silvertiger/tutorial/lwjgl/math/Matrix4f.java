@@ -25,6 +25,8 @@
 
 import java.nio.FloatBuffer;
 
+import static org.lwjgl.system.MemoryUtil.memPutFloat;
+
 /**
  * This class represents a 4x4-Matrix. GLSL equivalent to mat4.
  *
@@ -97,6 +99,37 @@ public final void setIdentity() {
         m32 = 0f;
     }
 
+    /**
+     * Sets the values of this matrix to the values of another matrix.
+     *
+     * @param other The other matrix
+     *
+     * @return This matrix
+     */
+    public Matrix4f set(Matrix4f other) {
+        this.m00 = other.m00;
+        this.m10 = other.m10;
+        this.m20 = other.m20;
+        this.m30 = other.m30;
+
+        this.m01 = other.m01;
+        this.m11 = other.m11;
+        this.m21 = other.m21;
+        this.m31 = other.m31;
+
+        this.m02 = other.m02;
+        this.m12 = other.m12;
+        this.m22 = other.m22;
+        this.m32 = other.m32;
+
+        this.m03 = other.m03;
+        this.m13 = other.m13;
+        this.m23 = other.m23;
+        this.m33 = other.m33;
+
+        return this;
+    }
+
     /**
      * Adds this matrix to another matrix.
      *
@@ -105,29 +138,40 @@ public final void setIdentity() {
      * @return Sum of this + other
      */
     public Matrix4f add(Matrix4f other) {
-        Matrix4f result = new Matrix4f();
-
-        result.m00 = this.m00 + other.m00;
-        result.m10 = this.m10 + other.m10;
-        result.m20 = this.m20 + other.m20;
-        result.m30 = this.m30 + other.m30;
-
-        result.m01 = this.m01 + other.m01;
-        result.m11 = this.m11 + other.m11;
-        result.m21 = this.m21 + other.m21;
-        result.m31 = this.m31 + other.m31;
-
-        result.m02 = this.m02 + other.m02;
-        result.m12 = this.m12 + other.m12;
-        result.m22 = this.m22 + other.m22;
-        result.m32 = this.m32 + other.m32;
-
-        result.m03 = this.m03 + other.m03;
-        result.m13 = this.m13 + other.m13;
-        result.m23 = this.m23 + other.m23;
-        result.m33 = this.m33 + other.m33;
+        return add(other, new Matrix4f());
+    }
 
-        return result;
+    /**
+     * Adds this matrix to another matrix and stores the result in a
+     * destination matrix.
+     *
+     * @param other The other matrix
+     * @param dest  The destination matrix, can be this matrix
+     *
+     * @return The destination matrix
+     */
+    public Matrix4f add(Matrix4f other, Matrix4f dest) {
+        dest.m00 = this.m00 + other.m00;
+        dest.m10 = this.m10 + other.m10;
+        dest.m20 = this.m20 + other.m20;
+        dest.m30 = this.m30 + other.m30;
+
+        dest.m01 = this.m01 + other.m01;
+        dest.m11 = this.m11 + other.m11;
+        dest.m21 = this.m21 + other.m21;
+        dest.m31 = this.m31 + other.m31;
+
+        dest.m02 = this.m02 + other.m02;
+        dest.m12 = this.m12 + other.m12;
+        dest.m22 = this.m22 + other.m22;
+        dest.m32 = this.m32 + other.m32;
+
+        dest.m03 = this.m03 + other.m03;
+        dest.m13 = this.m13 + other.m13;
+        dest.m23 = this.m23 + other.m23;
+        dest.m33 = this.m33 + other.m33;
+
+        return dest;
     }
 
     /**
@@ -136,7 +180,18 @@ public Matrix4f add(Matrix4f other) {
      * @return Negated matrix
      */
     public Matrix4f negate() {
-        return multiply(-1f);
+        return negate(new Matrix4f());
+    }
+
+    /**
+     * Negates this matrix and stores the result in a destination matrix.
+     *
+     * @param dest The destination matrix, can be this matrix
+     *
+     * @return The destination matrix
+     */
+    public Matrix4f negate(Matrix4f dest) {
+        return multiply(-1f, dest);
     }
 
     /**
@@ -147,7 +202,40 @@ public Matrix4f negate() {
      * @return Difference of this - other
      */
     public Matrix4f subtract(Matrix4f other) {
-        return this.add(other.negate());
+        return subtract(other, new Matrix4f());
+    }
+
+    /**
+     * Subtracts this matrix from another matrix and stores the result in a
+     * destination matrix.
+     *
+     * @param other The other matrix
+     * @param dest  The destination matrix, can be this matrix
+     *
+     * @return The destination matrix
+     */
+    public Matrix4f subtract(Matrix4f other, Matrix4f dest) {
+        dest.m00 = this.m00 - other.m00;
+        dest.m10 = this.m10 - other.m10;
+        dest.m20 = this.m20 - other.m20;
+        dest.m30 = this.m30 - other.m30;
+
+        dest.m01 = this.m01 - other.m01;
+        dest.m11 = this.m11 - other.m11;
+        dest.m21 = this.m21 - other.m21;
+        dest.m31 = this.m31 - other.m31;
+
+        dest.m02 = this.m02 - other.m02;
+        dest.m12 = this.m12 - other.m12;
+        dest.m22 = this.m22 - other.m22;
+        dest.m32 = this.m32 - other.m32;
+
+        dest.m03 = this.m03 - other.m03;
+        dest.m13 = this.m13 - other.m13;
+        dest.m23 = this.m23 - other.m23;
+        dest.m33 = this.m33 - other.m33;
+
+        return dest;
     }
 
     /**
@@ -158,29 +246,40 @@ public Matrix4f subtract(Matrix4f other) {
      * @return Scalar product of this * scalar
      */
     public Matrix4f multiply(float scalar) {
-        Matrix4f result = new Matrix4f();
-
-        result.m00 = this.m00 * scalar;
-        result.m10 = this.m10 * scalar;
-        result.m20 = this.m20 * scalar;
-        result.m30 = this.m30 * scalar;
-
-        result.m01 = this.m01 * scalar;
-        result.m11 = this.m11 * scalar;
-        result.m21 = this.m21 * scalar;
-        result.m31 = this.m31 * scalar;
-
-        result.m02 = this.m02 * scalar;
-        result.m12 = this.m12 * scalar;
-        result.m22 = this.m22 * scalar;
-        result.m32 = this.m32 * scalar;
-
-        result.m03 = this.m03 * scalar;
-        result.m13 = this.m13 * scalar;
-        result.m23 = this.m23 * scalar;
-        result.m33 = this.m33 * scalar;
+        return multiply(scalar, new Matrix4f());
+    }
 
-        return result;
+    /**
+     * Multiplies this matrix with a scalar and stores the result in a
+     * destination matrix.
+     *
+     * @param scalar The scalar
+     * @param dest   The destination matrix, can be this matrix
+     *
+     * @return The destination matrix
+     */
+    public Matrix4f multiply(float scalar, Matrix4f dest) {
+        dest.m00 = this.m00 * scalar;
+        dest.m10 = this.m10 * scalar;
+        dest.m20 = this.m20 * scalar;
+        dest.m30 = this.m30 * scalar;
+
+        dest.m01 = this.m01 * scalar;
+        dest.m11 = this.m11 * scalar;
+        dest.m21 = this.m21 * scalar;
+        dest.m31 = this.m31 * scalar;
+
+        dest.m02 = this.m02 * scalar;
+        dest.m12 = this.m12 * scalar;
+        dest.m22 = this.m22 * scalar;
+        dest.m32 = this.m32 * scalar;
+
+        dest.m03 = this.m03 * scalar;
+        dest.m13 = this.m13 * scalar;
+        dest.m23 = this.m23 * scalar;
+        dest.m33 = this.m33 * scalar;
+
+        return dest;
     }
 
     /**
@@ -191,11 +290,24 @@ public Matrix4f multiply(float scalar) {
      * @return Vector product of this * other
      */
     public Vector4f multiply(Vector4f vector) {
+        return multiply(vector, new Vector4f());
+    }
+
+    /**
+     * Multiplies this matrix to a vector and stores the result in a
+     * destination vector.
+     *
+     * @param vector The vector
+     * @param dest   The destination vector, can be the same as vector
+     *
+     * @return The destination vector
+     */
+    public Vector4f multiply(Vector4f vector, Vector4f dest) {
         float x = this.m00 * vector.x + this.m01 * vector.y + this.m02 * vector.z + this.m03 * vector.w;
         float y = this.m10 * vector.x + this.m11 * vector.y + this.m12 * vector.z + this.m13 * vector.w;
         float z = this.m20 * vector.x + this.m21 * vector.y + this.m22 * vector.z + this.m23 * vector.w;
         float w = this.m30 * vector.x + this.m31 * vector.y + this.m32 * vector.z + this.m33 * vector.w;
-        return new Vector4f(x, y, z, w);
+        return dest.set(x, y, z, w);
     }
 
     /**
@@ -206,29 +318,122 @@ public Vector4f multiply(Vector4f vector) {
      * @return Matrix product of this * other
      */
     public Matrix4f multiply(Matrix4f other) {
-        Matrix4f result = new Matrix4f();
-
-        result.m00 = this.m00 * other.m00 + this.m01 * other.m10 + this.m02 * other.m20 + this.m03 * other.m30;
-        result.m10 = this.m10 * other.m00 + this.m11 * other.m10 + this.m12 * other.m20 + this.m13 * other.m30;
-        result.m20 = this.m20 * other.m00 + this.m21 * other.m10 + this.m22 * other.m20 + this.m23 * other.m30;
-        result.m30 = this.m30 * other.m00 + this.m31 * other.m10 + this.m32 * other.m20 + this.m33 * other.m30;
-
-        result.m01 = this.m00 * other.m01 + this.m01 * other.m11 + this.m02 * other.m21 + this.m03 * other.m31;
-        result.m11 = this.m10 * other.m01 + this.m11 * other.m11 + this.m12 * other.m21 + this.m13 * other.m31;
-        result.m21 = this.m20 * other.m01 + this.m21 * other.m11 + this.m22 * other.m21 + this.m23 * other.m31;
-        result.m31 = this.m30 * other.m01 + this.m31 * other.m11 + this.m32 * other.m21 + this.m33 * other.m31;
+        return multiply(other, new Matrix4f());
+    }
 
-        result.m02 = this.m00 * other.m02 + this.m01 * other.m12 + this.m02 * other.m22 + this.m03 * other.m32;
-        result.m12 = this.m10 * other.m02 + this.m11 * other.m12 + this.m12 * other.m22 + this.m13 * other.m32;
-        result.m22 = this.m20 * other.m02 + this.m21 * other.m12 + this.m22 * other.m22 + this.m23 * other.m32;
-        result.m32 = this.m30 * other.m02 + this.m31 * other.m12 + this.m32 * other.m22 + this.m33 * other.m32;
+    /**
+     * Multiplies this matrix to another matrix and stores the result in a
+     * destination matrix.
+     *
+     * @param other The other matrix
+     * @param dest  The destination matrix, can be this or the other matrix
+     *
+     * @return The destination matrix
+     */
+    public Matrix4f multiply(Matrix4f other, Matrix4f dest) {
+        float m00 = this.m00 * other.m00 + this.m01 * other.m10 + this.m02 * other.m20 + this.m03 * other.m30;
+        float m10 = this.m10 * other.m00 + this.m11 * other.m10 + this.m12 * other.m20 + this.m13 * other.m30;
+        float m20 = this.m20 * other.m00 + this.m21 * other.m10 + this.m22 * other.m20 + this.m23 * other.m30;
+        float m30 = this.m30 * other.m00 + this.m31 * other.m10 + this.m32 * other.m20 + this.m33 * other.m30;
+
+        float m01 = this.m00 * other.m01 + this.m01 * other.m11 + this.m02 * other.m21 + this.m03 * other.m31;
+        float m11 = this.m10 * other.m01 + this.m11 * other.m11 + this.m12 * other.m21 + this.m13 * other.m31;
+        float m21 = this.m20 * other.m01 + this.m21 * other.m11 + this.m22 * other.m21 + this.m23 * other.m31;
+        float m31 = this.m30 * other.m01 + this.m31 * other.m11 + this.m32 * other.m21 + this.m33 * other.m31;
+
+        float m02 = this.m00 * other.m02 + this.m01 * other.m12 + this.m02 * other.m22 + this.m03 * other.m32;
+        float m12 = this.m10 * other.m02 + this.m11 * other.m12 + this.m12 * other.m22 + this.m13 * other.m32;
+        float m22 = this.m20 * other.m02 + this.m21 * other.m12 + this.m22 * other.m22 + this.m23 * other.m32;
+        float m32 = this.m30 * other.m02 + this.m31 * other.m12 + this.m32 * other.m22 + this.m33 * other.m32;
+
+        float m03 = this.m00 * other.m03 + this.m01 * other.m13 + this.m02 * other.m23 + this.m03 * other.m33;
+        float m13 = this.m10 * other.m03 + this.m11 * other.m13 + this.m12 * other.m23 + this.m13 * other.m33;
+        float m23 = this.m20 * other.m03 + this.m21 * other.m13 + this.m22 * other.m23 + this.m23 * other.m33;
+        float m33 = this.m30 * other.m03 + this.m31 * other.m13 + this.m32 * other.m23 + this.m33 * other.m33;
+
+        dest.m00 = m00;
+        dest.m10 = m10;
+        dest.m20 = m20;
+        dest.m30 = m30;
+
+        dest.m01 = m01;
+        dest.m11 = m11;
+        dest.m21 = m21;
+        dest.m31 = m31;
+
+        dest.m02 = m02;
+        dest.m12 = m12;
+        dest.m22 = m22;
+        dest.m32 = m32;
+
+        dest.m03 = m03;
+        dest.m13 = m13;
+        dest.m23 = m23;
+        dest.m33 = m33;
+
+        return dest;
+    }
 
-        result.m03 = this.m00 * other.m03 + this.m01 * other.m13 + this.m02 * other.m23 + this.m03 * other.m33;
-        result.m13 = this.m10 * other.m03 + this.m11 * other.m13 + this.m12 * other.m23 + this.m13 * other.m33;
-        result.m23 = this.m20 * other.m03 + this.m21 * other.m13 + this.m22 * other.m23 + this.m23 * other.m33;
-        result.m33 = this.m30 * other.m03 + this.m31 * other.m13 + this.m32 * other.m23 + this.m33 * other.m33;
+    /**
+     * Multiplies this matrix to another matrix in place.
+     *
+     * @param other The other matrix
+     *
+     * @return This matrix
+     */
+    public Matrix4f multiplyLocal(Matrix4f other) {
+        return multiply(other, this);
+    }
 
-        return result;
+    /**
+     * Multiplies this matrix to another matrix, assuming that both are affine
+     * transformations with a last row of (0, 0, 0, 1). This skips the
+     * multiplications with the last row and stores the result in a
+     * destination matrix.
+     *
+     * @param other The other affine matrix
+     * @param dest  The destination matrix, can be this or the other matrix
+     *
+     * @return The destination matrix
+     */
+    public Matrix4f mulAffine(Matrix4f other, Matrix4f dest) {
+        float m00 = this.m00 * other.m00 + this.m01 * other.m10 + this.m02 * other.m20;
+        float m10 = this.m10 * other.m00 + this.m11 * other.m10 + this.m12 * other.m20;
+        float m20 = this.m20 * other.m00 + this.m21 * other.m10 + this.m22 * other.m20;
+
+        float m01 = this.m00 * other.m01 + this.m01 * other.m11 + this.m02 * other.m21;
+        float m11 = this.m10 * other.m01 + this.m11 * other.m11 + this.m12 * other.m21;
+        float m21 = this.m20 * other.m01 + this.m21 * other.m11 + this.m22 * other.m21;
+
+        float m02 = this.m00 * other.m02 + this.m01 * other.m12 + this.m02 * other.m22;
+        float m12 = this.m10 * other.m02 + this.m11 * other.m12 + this.m12 * other.m22;
+        float m22 = this.m20 * other.m02 + this.m21 * other.m12 + this.m22 * other.m22;
+
+        float m03 = this.m00 * other.m03 + this.m01 * other.m13 + this.m02 * other.m23 + this.m03;
+        float m13 = this.m10 * other.m03 + this.m11 * other.m13 + this.m12 * other.m23 + this.m13;
+        float m23 = this.m20 * other.m03 + this.m21 * other.m13 + this.m22 * other.m23 + this.m23;
+
+        dest.m00 = m00;
+        dest.m10 = m10;
+        dest.m20 = m20;
+        dest.m30 = 0f;
+
+        dest.m01 = m01;
+        dest.m11 = m11;
+        dest.m21 = m21;
+        dest.m31 = 0f;
+
+        dest.m02 = m02;
+        dest.m12 = m12;
+        dest.m22 = m22;
+        dest.m32 = 0f;
+
+        dest.m03 = m03;
+        dest.m13 = m13;
+        dest.m23 = m23;
+        dest.m33 = 1f;
+
+        return dest;
     }
 
     /**
@@ -237,29 +442,58 @@ public Matrix4f multiply(Matrix4f other) {
      * @return Transposed matrix
      */
     public Matrix4f transpose() {
-        Matrix4f result = new Matrix4f();
-
-        result.m00 = this.m00;
-        result.m10 = this.m01;
-        result.m20 = this.m02;
-        result.m30 = this.m03;
-
-        result.m01 = this.m10;
-        result.m11 = this.m11;
-        result.m21 = this.m12;
-        result.m31 = this.m13;
-
-        result.m02 = this.m20;
-        result.m12 = this.m21;
-        result.m22 = this.m22;
-        result.m32 = this.m23;
-
-        result.m03 = this.m30;
-        result.m13 = this.m31;
-        result.m23 = this.m32;
-        result.m33 = this.m33;
+        return transpose(new Matrix4f());
+    }
 
-        return result;
+    /**
+     * Transposes this matrix and stores the result in a destination matrix.
+     *
+     * @param dest The destination matrix, can be this matrix
+     *
+     * @return The destination matrix
+     */
+    public Matrix4f transpose(Matrix4f dest) {
+        float m00 = this.m00;
+        float m10 = this.m01;
+        float m20 = this.m02;
+        float m30 = this.m03;
+
+        float m01 = this.m10;
+        float m11 = this.m11;
+        float m21 = this.m12;
+        float m31 = this.m13;
+
+        float m02 = this.m20;
+        float m12 = this.m21;
+        float m22 = this.m22;
+        float m32 = this.m23;
+
+        float m03 = this.m30;
+        float m13 = this.m31;
+        float m23 = this.m32;
+        float m33 = this.m33;
+
+        dest.m00 = m00;
+        dest.m10 = m10;
+        dest.m20 = m20;
+        dest.m30 = m30;
+
+        dest.m01 = m01;
+        dest.m11 = m11;
+        dest.m21 = m21;
+        dest.m31 = m31;
+
+        dest.m02 = m02;
+        dest.m12 = m12;
+        dest.m22 = m22;
+        dest.m32 = m32;
+
+        dest.m03 = m03;
+        dest.m13 = m13;
+        dest.m23 = m23;
+        dest.m33 = m33;
+
+        return dest;
     }
 
     /**
@@ -275,6 +509,85 @@ public void toBuffer(FloatBuffer buffer) {
         buffer.flip();
     }
 
+    /**
+     * Stores the matrix at a given off-heap address, in the same order as
+     * <code>toBuffer(FloatBuffer)</code>. The address needs space for 16
+     * floats.
+     *
+     * @param address The address to store the matrix data
+     */
+    public void toAddress(long address) {
+        memPutFloat(address, m00);
+        memPutFloat(address + 4, m10);
+        memPutFloat(address + 8, m20);
+        memPutFloat(address + 12, m30);
+
+        memPutFloat(address + 16, m01);
+        memPutFloat(address + 20, m11);
+        memPutFloat(address + 24, m21);
+        memPutFloat(address + 28, m31);
+
+        memPutFloat(address + 32, m02);
+        memPutFloat(address + 36, m12);
+        memPutFloat(address + 40, m22);
+        memPutFloat(address + 44, m32);
+
+        memPutFloat(address + 48, m03);
+        memPutFloat(address + 52, m13);
+        memPutFloat(address + 56, m23);
+        memPutFloat(address + 60, m33);
+    }
+
+    /**
+     * Gets a single value of this matrix.
+     *
+     * @param row    Index of the row
+     * @param column Index of the column
+     *
+     * @return The value at specified row and column
+     */
+    public float get(int row, int column) {
+        if (row < 0 || row >= 4 || column < 0 || column >= 4) {
+            throw new IllegalArgumentException("Invalid matrix index!");
+        }
+        switch (row * 4 + column) {
+            case 0:
+                return m00;
+            case 1:
+                return m01;
+            case 2:
+                return m02;
+            case 3:
+                return m03;
+            case 4:
+                return m10;
+            case 5:
+                return m11;
+            case 6:
+                return m12;
+            case 7:
+                return m13;
+            case 8:
+                return m20;
+            case 9:
+                return m21;
+            case 10:
+                return m22;
+            case 11:
+                return m23;
+            case 12:
+                return m30;
+            case 13:
+                return m31;
+            case 14:
+                return m32;
+            case 15:
+                return m33;
+            default:
+                throw new IllegalArgumentException("Invalid matrix index!");
+        }
+    }
+
     /**
      * Creates a orthographic projection matrix. Similar to
      * <code>glOrtho(left, right, bottom, top, near, far)</code>.
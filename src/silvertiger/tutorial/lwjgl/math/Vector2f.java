@@ -25,6 +25,8 @@
 
 import java.nio.FloatBuffer;
 
+import static org.lwjgl.system.MemoryUtil.memPutFloat;
+
 /**
  * This class represents a (x,y)-Vector. GLSL equivalent to vec2.
  *
@@ -54,6 +56,31 @@ public Vector2f(float x, float y) {
         this.y = y;
     }
 
+    /**
+     * Sets the values of this vector.
+     *
+     * @param x x value
+     * @param y y value
+     *
+     * @return This vector
+     */
+    public Vector2f set(float x, float y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    /**
+     * Sets the values of this vector to the values of another vector.
+     *
+     * @param other The other vector
+     *
+     * @return This vector
+     */
+    public Vector2f set(Vector2f other) {
+        return set(other.x, other.y);
+    }
+
     /**
      * Calculates the squared length of the vector.
      *
@@ -78,8 +105,28 @@ public float length() {
      * @return Normalized vector
      */
     public Vector2f normalize() {
+        return normalize(new Vector2f());
+    }
+
+    /**
+     * Normalizes the vector and stores the result in a destination vector.
+     *
+     * @param dest The destination vector, can be this vector
+     *
+     * @return The destination vector
+     */
+    public Vector2f normalize(Vector2f dest) {
         float length = length();
-        return divide(length);
+        return divide(length, dest);
+    }
+
+    /**
+     * Normalizes this vector.
+     *
+     * @return This vector
+     */
+    public Vector2f normalizeLocal() {
+        return normalize(this);
     }
 
     /**
@@ -90,9 +137,33 @@ public Vector2f normalize() {
      * @return Sum of this + other
      */
     public Vector2f add(Vector2f other) {
-        float x = this.x + other.x;
-        float y = this.y + other.y;
-        return new Vector2f(x, y);
+        return add(other, new Vector2f());
+    }
+
+    /**
+     * Adds this vector to another vector and stores the result in a
+     * destination vector.
+     *
+     * @param other The other vector
+     * @param dest  The destination vector, can be this vector
+     *
+     * @return The destination vector
+     */
+    public Vector2f add(Vector2f other, Vector2f dest) {
+        dest.x = this.x + other.x;
+        dest.y = this.y + other.y;
+        return dest;
+    }
+
+    /**
+     * Adds another vector to this vector.
+     *
+     * @param other The other vector
+     *
+     * @return This vector
+     */
+    public Vector2f addLocal(Vector2f other) {
+        return add(other, this);
     }
 
     /**
@@ -101,7 +172,27 @@ public Vector2f add(Vector2f other) {
      * @return Negated vector
      */
     public Vector2f negate() {
-        return scale(-1f);
+        return negate(new Vector2f());
+    }
+
+    /**
+     * Negates this vector and stores the result in a destination vector.
+     *
+     * @param dest The destination vector, can be this vector
+     *
+     * @return The destination vector
+     */
+    public Vector2f negate(Vector2f dest) {
+        return scale(-1f, dest);
+    }
+
+    /**
+     * Negates this vector in place.
+     *
+     * @return This vector
+     */
+    public Vector2f negateLocal() {
+        return negate(this);
     }
 
     /**
@@ -112,7 +203,33 @@ public Vector2f negate() {
      * @return Difference of this - other
      */
     public Vector2f subtract(Vector2f other) {
-        return this.add(other.negate());
+        return subtract(other, new Vector2f());
+    }
+
+    /**
+     * Subtracts this vector from another vector and stores the result in a
+     * destination vector.
+     *
+     * @param other The other vector
+     * @param dest  The destination vector, can be this vector
+     *
+     * @return The destination vector
+     */
+    public Vector2f subtract(Vector2f other, Vector2f dest) {
+        dest.x = this.x - other.x;
+        dest.y = this.y - other.y;
+        return dest;
+    }
+
+    /**
+     * Subtracts another vector from this vector.
+     *
+     * @param other The other vector
+     *
+     * @return This vector
+     */
+    public Vector2f subtractLocal(Vector2f other) {
+        return subtract(other, this);
     }
 
     /**
@@ -123,9 +240,33 @@ public Vector2f subtract(Vector2f other) {
      * @return Scalar product of this * scalar
      */
     public Vector2f scale(float scalar) {
-        float x = this.x * scalar;
-        float y = this.y * scalar;
-        return new Vector2f(x, y);
+        return scale(scalar, new Vector2f());
+    }
+
+    /**
+     * Multiplies a vector by a scalar and stores the result in a destination
+     * vector.
+     *
+     * @param scalar Scalar to multiply
+     * @param dest   The destination vector, can be this vector
+     *
+     * @return The destination vector
+     */
+    public Vector2f scale(float scalar, Vector2f dest) {
+        dest.x = this.x * scalar;
+        dest.y = this.y * scalar;
+        return dest;
+    }
+
+    /**
+     * Multiplies this vector by a scalar.
+     *
+     * @param scalar Scalar to multiply
+     *
+     * @return This vector
+     */
+    public Vector2f scaleLocal(float scalar) {
+        return scale(scalar, this);
     }
 
     /**
@@ -136,7 +277,31 @@ public Vector2f scale(float scalar) {
      * @return Scalar quotient of this / scalar
      */
     public Vector2f divide(float scalar) {
-        return scale(1f / scalar);
+        return divide(scalar, new Vector2f());
+    }
+
+    /**
+     * Divides a vector by a scalar and stores the result in a destination
+     * vector.
+     *
+     * @param scalar Scalar to divide
+     * @param dest   The destination vector, can be this vector
+     *
+     * @return The destination vector
+     */
+    public Vector2f divide(float scalar, Vector2f dest) {
+        return scale(1f / scalar, dest);
+    }
+
+    /**
+     * Divides this vector by a scalar.
+     *
+     * @param scalar Scalar to divide
+     *
+     * @return This vector
+     */
+    public Vector2f divideLocal(float scalar) {
+        return divide(scalar, this);
     }
 
     /**
@@ -160,7 +325,36 @@ public float dot(Vector2f other) {
      * @return Linear interpolated vector
      */
     public Vector2f lerp(Vector2f other, float alpha) {
-        return this.scale(1f - alpha).add(other.scale(alpha));
+        return lerp(other, alpha, new Vector2f());
+    }
+
+    /**
+     * Calculates a linear interpolation between this vector with another
+     * vector and stores the result in a destination vector.
+     *
+     * @param other The other vector
+     * @param alpha The alpha value, must be between 0.0 and 1.0
+     * @param dest  The destination vector, can be this vector
+     *
+     * @return The destination vector
+     */
+    public Vector2f lerp(Vector2f other, float alpha, Vector2f dest) {
+        float beta = 1f - alpha;
+        dest.x = this.x * beta + other.x * alpha;
+        dest.y = this.y * beta + other.y * alpha;
+        return dest;
+    }
+
+    /**
+     * Interpolates this vector linear towards another vector.
+     *
+     * @param other The other vector
+     * @param alpha The alpha value, must be between 0.0 and 1.0
+     *
+     * @return This vector
+     */
+    public Vector2f lerpLocal(Vector2f other, float alpha) {
+        return lerp(other, alpha, this);
     }
 
     /**
@@ -173,4 +367,16 @@ public void toBuffer(FloatBuffer buffer) {
         buffer.flip();
     }
 
+    /**
+     * Stores the vector at a given off-heap address, in the same order as
+     * <code>toBuffer(FloatBuffer)</code>. The address needs space for 2
+     * floats.
+     *
+     * @param address The address to store the vector data
+     */
+    public void toAddress(long address) {
+        memPutFloat(address, x);
+        memPutFloat(address + 4, y);
+    }
+
 }
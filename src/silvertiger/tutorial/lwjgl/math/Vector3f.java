@@ -25,6 +25,8 @@
 
 import java.nio.FloatBuffer;
 
+import static org.lwjgl.system.MemoryUtil.memPutFloat;
+
 /**
  * This class represents a (x,y,z)-Vector. GLSL equivalent to vec3.
  *
@@ -58,6 +60,33 @@ public Vector3f(float x, float y, float z) {
         this.z = z;
     }
 
+    /**
+     * Sets the values of this vector.
+     *
+     * @param x x value
+     * @param y y value
+     * @param z z value
+     *
+     * @return This vector
+     */
+    public Vector3f set(float x, float y, float z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    /**
+     * Sets the values of this vector to the values of another vector.
+     *
+     * @param other The other vector
+     *
+     * @return This vector
+     */
+    public Vector3f set(Vector3f other) {
+        return set(other.x, other.y, other.z);
+    }
+
     /**
      * Calculates the squared length of the vector.
      *
@@ -82,8 +111,28 @@ public float length() {
      * @return Normalized vector
      */
     public Vector3f normalize() {
+        return normalize(new Vector3f());
+    }
+
+    /**
+     * Normalizes the vector and stores the result in a destination vector.
+     *
+     * @param dest The destination vector, can be this vector
+     *
+     * @return The destination vector
+     */
+    public Vector3f normalize(Vector3f dest) {
         float length = length();
-        return divide(length);
+        return divide(length, dest);
+    }
+
+    /**
+     * Normalizes this vector.
+     *
+     * @return This vector
+     */
+    public Vector3f normalizeLocal() {
+        return normalize(this);
     }
 
     /**
@@ -94,10 +143,34 @@ public Vector3f normalize() {
      * @return Sum of this + other
      */
     public Vector3f add(Vector3f other) {
-        float x = this.x + other.x;
-        float y = this.y + other.y;
-        float z = this.z + other.z;
-        return new Vector3f(x, y, z);
+        return add(other, new Vector3f());
+    }
+
+    /**
+     * Adds this vector to another vector and stores the result in a
+     * destination vector.
+     *
+     * @param other The other vector
+     * @param dest  The destination vector, can be this vector
+     *
+     * @return The destination vector
+     */
+    public Vector3f add(Vector3f other, Vector3f dest) {
+        dest.x = this.x + other.x;
+        dest.y = this.y + other.y;
+        dest.z = this.z + other.z;
+        return dest;
+    }
+
+    /**
+     * Adds another vector to this vector.
+     *
+     * @param other The other vector
+     *
+     * @return This vector
+     */
+    public Vector3f addLocal(Vector3f other) {
+        return add(other, this);
     }
 
     /**
@@ -106,7 +179,27 @@ public Vector3f add(Vector3f other) {
      * @return Negated vector
      */
     public Vector3f negate() {
-        return scale(-1f);
+        return negate(new Vector3f());
+    }
+
+    /**
+     * Negates this vector and stores the result in a destination vector.
+     *
+     * @param dest The destination vector, can be this vector
+     *
+     * @return The destination vector
+     */
+    public Vector3f negate(Vector3f dest) {
+        return scale(-1f, dest);
+    }
+
+    /**
+     * Negates this vector in place.
+     *
+     * @return This vector
+     */
+    public Vector3f negateLocal() {
+        return negate(this);
     }
 
     /**
@@ -117,7 +210,34 @@ public Vector3f negate() {
      * @return Difference of this - other
      */
     public Vector3f subtract(Vector3f other) {
-        return this.add(other.negate());
+        return subtract(other, new Vector3f());
+    }
+
+    /**
+     * Subtracts this vector from another vector and stores the result in a
+     * destination vector.
+     *
+     * @param other The other vector
+     * @param dest  The destination vector, can be this vector
+     *
+     * @return The destination vector
+     */
+    public Vector3f subtract(Vector3f other, Vector3f dest) {
+        dest.x = this.x - other.x;
+        dest.y = this.y - other.y;
+        dest.z = this.z - other.z;
+        return dest;
+    }
+
+    /**
+     * Subtracts another vector from this vector.
+     *
+     * @param other The other vector
+     *
+     * @return This vector
+     */
+    public Vector3f subtractLocal(Vector3f other) {
+        return subtract(other, this);
     }
 
     /**
@@ -128,10 +248,34 @@ public Vector3f subtract(Vector3f other) {
      * @return Scalar product of this * scalar
      */
     public Vector3f scale(float scalar) {
-        float x = this.x * scalar;
-        float y = this.y * scalar;
-        float z = this.z * scalar;
-        return new Vector3f(x, y, z);
+        return scale(scalar, new Vector3f());
+    }
+
+    /**
+     * Multiplies a vector by a scalar and stores the result in a destination
+     * vector.
+     *
+     * @param scalar Scalar to multiply
+     * @param dest   The destination vector, can be this vector
+     *
+     * @return The destination vector
+     */
+    public Vector3f scale(float scalar, Vector3f dest) {
+        dest.x = this.x * scalar;
+        dest.y = this.y * scalar;
+        dest.z = this.z * scalar;
+        return dest;
+    }
+
+    /**
+     * Multiplies this vector by a scalar.
+     *
+     * @param scalar Scalar to multiply
+     *
+     * @return This vector
+     */
+    public Vector3f scaleLocal(float scalar) {
+        return scale(scalar, this);
     }
 
     /**
@@ -142,7 +286,31 @@ public Vector3f scale(float scalar) {
      * @return Scalar quotient of this / scalar
      */
     public Vector3f divide(float scalar) {
-        return scale(1f / scalar);
+        return divide(scalar, new Vector3f());
+    }
+
+    /**
+     * Divides a vector by a scalar and stores the result in a destination
+     * vector.
+     *
+     * @param scalar Scalar to divide
+     * @param dest   The destination vector, can be this vector
+     *
+     * @return The destination vector
+     */
+    public Vector3f divide(float scalar, Vector3f dest) {
+        return scale(1f / scalar, dest);
+    }
+
+    /**
+     * Divides this vector by a scalar.
+     *
+     * @param scalar Scalar to divide
+     *
+     * @return This vector
+     */
+    public Vector3f divideLocal(float scalar) {
+        return divide(scalar, this);
     }
 
     /**
@@ -164,10 +332,23 @@ public float dot(Vector3f other) {
      * @return Cross product of this x other
      */
     public Vector3f cross(Vector3f other) {
+        return cross(other, new Vector3f());
+    }
+
+    /**
+     * Calculates the cross product of this vector with another vector and
+     * stores the result in a destination vector.
+     *
+     * @param other The other vector
+     * @param dest  The destination vector, can be this vector
+     *
+     * @return The destination vector
+     */
+    public Vector3f cross(Vector3f other, Vector3f dest) {
         float x = this.y * other.z - this.z * other.y;
         float y = this.z * other.x - this.x * other.z;
         float z = this.x * other.y - this.y * other.x;
-        return new Vector3f(x, y, z);
+        return dest.set(x, y, z);
     }
 
     /**
@@ -180,7 +361,37 @@ public Vector3f cross(Vector3f other) {
      * @return Linear interpolated vector
      */
     public Vector3f lerp(Vector3f other, float alpha) {
-        return this.scale(1f - alpha).add(other.scale(alpha));
+        return lerp(other, alpha, new Vector3f());
+    }
+
+    /**
+     * Calculates a linear interpolation between this vector with another
+     * vector and stores the result in a destination vector.
+     *
+     * @param other The other vector
+     * @param alpha The alpha value, must be between 0.0 and 1.0
+     * @param dest  The destination vector, can be this vector
+     *
+     * @return The destination vector
+     */
+    public Vector3f lerp(Vector3f other, float alpha, Vector3f dest) {
+        float beta = 1f - alpha;
+        dest.x = this.x * beta + other.x * alpha;
+        dest.y = this.y * beta + other.y * alpha;
+        dest.z = this.z * beta + other.z * alpha;
+        return dest;
+    }
+
+    /**
+     * Interpolates this vector linear towards another vector.
+     *
+     * @param other The other vector
+     * @param alpha The alpha value, must be between 0.0 and 1.0
+     *
+     * @return This vector
+     */
+    public Vector3f lerpLocal(Vector3f other, float alpha) {
+        return lerp(other, alpha, this);
     }
 
     /**
@@ -193,4 +404,17 @@ public void toBuffer(FloatBuffer buffer) {
         buffer.flip();
     }
 
+    /**
+     * Stores the vector at a given off-heap address, in the same order as
+     * <code>toBuffer(FloatBuffer)</code>. The address needs space for 3
+     * floats.
+     *
+     * @param address The address to store the vector data
+     */
+    public void toAddress(long address) {
+        memPutFloat(address, x);
+        memPutFloat(address + 4, y);
+        memPutFloat(address + 8, z);
+    }
+
 }
@@ -25,6 +25,8 @@
 
 import java.nio.FloatBuffer;
 
+import static org.lwjgl.system.MemoryUtil.memPutFloat;
+
 /**
  * This class represents a (x,y,z,w)-Vector. GLSL equivalent to vec4.
  *
@@ -62,6 +64,35 @@ public Vector4f(float x, float y, float z, float w) {
         this.w = w;
     }
 
+    /**
+     * Sets the values of this vector.
+     *
+     * @param x x value
+     * @param y y value
+     * @param z z value
+     * @param w w value
+     *
+     * @return This vector
+     */
+    public Vector4f set(float x, float y, float z, float w) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.w = w;
+        return this;
+    }
+
+    /**
+     * Sets the values of this vector to the values of another vector.
+     *
+     * @param other The other vector
+     *
+     * @return This vector
+     */
+    public Vector4f set(Vector4f other) {
+        return set(other.x, other.y, other.z, other.w);
+    }
+
     /**
      * Calculates the squared length of the vector.
      *
@@ -86,8 +117,28 @@ public float length() {
      * @return Normalized vector
      */
     public Vector4f normalize() {
+        return normalize(new Vector4f());
+    }
+
+    /**
+     * Normalizes the vector and stores the result in a destination vector.
+     *
+     * @param dest The destination vector, can be this vector
+     *
+     * @return The destination vector
+     */
+    public Vector4f normalize(Vector4f dest) {
         float length = length();
-        return divide(length);
+        return divide(length, dest);
+    }
+
+    /**
+     * Normalizes this vector.
+     *
+     * @return This vector
+     */
+    public Vector4f normalizeLocal() {
+        return normalize(this);
     }
 
     /**
@@ -98,11 +149,35 @@ public Vector4f normalize() {
      * @return Sum of this + other
      */
     public Vector4f add(Vector4f other) {
-        float x = this.x + other.x;
-        float y = this.y + other.y;
-        float z = this.z + other.z;
-        float w = this.w + other.w;
-        return new Vector4f(x, y, z, w);
+        return add(other, new Vector4f());
+    }
+
+    /**
+     * Adds this vector to another vector and stores the result in a
+     * destination vector.
+     *
+     * @param other The other vector
+     * @param dest  The destination vector, can be this vector
+     *
+     * @return The destination vector
+     */
+    public Vector4f add(Vector4f other, Vector4f dest) {
+        dest.x = this.x + other.x;
+        dest.y = this.y + other.y;
+        dest.z = this.z + other.z;
+        dest.w = this.w + other.w;
+        return dest;
+    }
+
+    /**
+     * Adds another vector to this vector.
+     *
+     * @param other The other vector
+     *
+     * @return This vector
+     */
+    public Vector4f addLocal(Vector4f other) {
+        return add(other, this);
     }
 
     /**
@@ -111,7 +186,27 @@ public Vector4f add(Vector4f other) {
      * @return Negated vector
      */
     public Vector4f negate() {
-        return scale(-1f);
+        return negate(new Vector4f());
+    }
+
+    /**
+     * Negates this vector and stores the result in a destination vector.
+     *
+     * @param dest The destination vector, can be this vector
+     *
+     * @return The destination vector
+     */
+    public Vector4f negate(Vector4f dest) {
+        return scale(-1f, dest);
+    }
+
+    /**
+     * Negates this vector in place.
+     *
+     * @return This vector
+     */
+    public Vector4f negateLocal() {
+        return negate(this);
     }
 
     /**
@@ -122,7 +217,35 @@ public Vector4f negate() {
      * @return Difference of this - other
      */
     public Vector4f subtract(Vector4f other) {
-        return this.add(other.negate());
+        return subtract(other, new Vector4f());
+    }
+
+    /**
+     * Subtracts this vector from another vector and stores the result in a
+     * destination vector.
+     *
+     * @param other The other vector
+     * @param dest  The destination vector, can be this vector
+     *
+     * @return The destination vector
+     */
+    public Vector4f subtract(Vector4f other, Vector4f dest) {
+        dest.x = this.x - other.x;
+        dest.y = this.y - other.y;
+        dest.z = this.z - other.z;
+        dest.w = this.w - other.w;
+        return dest;
+    }
+
+    /**
+     * Subtracts another vector from this vector.
+     *
+     * @param other The other vector
+     *
+     * @return This vector
+     */
+    public Vector4f subtractLocal(Vector4f other) {
+        return subtract(other, this);
     }
 
     /**
@@ -133,11 +256,35 @@ public Vector4f subtract(Vector4f other) {
      * @return Scalar product of this * scalar
      */
     public Vector4f scale(float scalar) {
-        float x = this.x * scalar;
-        float y = this.y * scalar;
-        float z = this.z * scalar;
-        float w = this.w * scalar;
-        return new Vector4f(x, y, z, w);
+        return scale(scalar, new Vector4f());
+    }
+
+    /**
+     * Multiplies a vector by a scalar and stores the result in a destination
+     * vector.
+     *
+     * @param scalar Scalar to multiply
+     * @param dest   The destination vector, can be this vector
+     *
+     * @return The destination vector
+     */
+    public Vector4f scale(float scalar, Vector4f dest) {
+        dest.x = this.x * scalar;
+        dest.y = this.y * scalar;
+        dest.z = this.z * scalar;
+        dest.w = this.w * scalar;
+        return dest;
+    }
+
+    /**
+     * Multiplies this vector by a scalar.
+     *
+     * @param scalar Scalar to multiply
+     *
+     * @return This vector
+     */
+    public Vector4f scaleLocal(float scalar) {
+        return scale(scalar, this);
     }
 
     /**
@@ -148,7 +295,31 @@ public Vector4f scale(float scalar) {
      * @return Scalar quotient of this / scalar
      */
     public Vector4f divide(float scalar) {
-        return scale(1f / scalar);
+        return divide(scalar, new Vector4f());
+    }
+
+    /**
+     * Divides a vector by a scalar and stores the result in a destination
+     * vector.
+     *
+     * @param scalar Scalar to divide
+     * @param dest   The destination vector, can be this vector
+     *
+     * @return The destination vector
+     */
+    public Vector4f divide(float scalar, Vector4f dest) {
+        return scale(1f / scalar, dest);
+    }
+
+    /**
+     * Divides this vector by a scalar.
+     *
+     * @param scalar Scalar to divide
+     *
+     * @return This vector
+     */
+    public Vector4f divideLocal(float scalar) {
+        return divide(scalar, this);
     }
 
     /**
@@ -172,7 +343,38 @@ public float dot(Vector4f other) {
      * @return Linear interpolated vector
      */
     public Vector4f lerp(Vector4f other, float alpha) {
-        return this.scale(1f - alpha).add(other.scale(alpha));
+        return lerp(other, alpha, new Vector4f());
+    }
+
+    /**
+     * Calculates a linear interpolation between this vector with another
+     * vector and stores the result in a destination vector.
+     *
+     * @param other The other vector
+     * @param alpha The alpha value, must be between 0.0 and 1.0
+     * @param dest  The destination vector, can be this vector
+     *
+     * @return The destination vector
+     */
+    public Vector4f lerp(Vector4f other, float alpha, Vector4f dest) {
+        float beta = 1f - alpha;
+        dest.x = this.x * beta + other.x * alpha;
+        dest.y = this.y * beta + other.y * alpha;
+        dest.z = this.z * beta + other.z * alpha;
+        dest.w = this.w * beta + other.w * alpha;
+        return dest;
+    }
+
+    /**
+     * Interpolates this vector linear towards another vector.
+     *
+     * @param other The other vector
+     * @param alpha The alpha value, must be between 0.0 and 1.0
+     *
+     * @return This vector
+     */
+    public Vector4f lerpLocal(Vector4f other, float alpha) {
+        return lerp(other, alpha, this);
     }
 
     /**
@@ -185,4 +387,18 @@ public void toBuffer(FloatBuffer buffer) {
         buffer.flip();
     }
 
+    /**
+     * Stores the vector at a given off-heap address, in the same order as
+     * <code>toBuffer(FloatBuffer)</code>. The address needs space for 4
+     * floats.
+     *
+     * @param address The address to store the vector data
+     */
+    public void toAddress(long address) {
+        memPutFloat(address, x);
+        memPutFloat(address + 4, y);
+        memPutFloat(address + 8, z);
+        memPutFloat(address + 12, w);
+    }
+
 }
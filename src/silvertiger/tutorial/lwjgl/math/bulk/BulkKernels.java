@@ -0,0 +1,122 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.math.bulk;
+
+import java.nio.FloatBuffer;
+
+/**
+ * Kernels for bulk operations over primitive float arrays and float buffers.
+ * Points are stored as consecutive x and y values, boxes are stored as
+ * separate arrays for each coordinate, so that every kernel can work on
+ * consecutive values.
+ *
+ * @author Heiko Brumme
+ */
+public interface BulkKernels {
+
+    /**
+     * Transforms an array of points with an affine transformation. Source and
+     * destination can be the same array with the same offset.
+     *
+     * @param m00        Linear part, first row, first column
+     * @param m01        Linear part, first row, second column
+     * @param m02        Translation along the x coordinate
+     * @param m10        Linear part, second row, first column
+     * @param m11        Linear part, second row, second column
+     * @param m12        Translation along the y coordinate
+     * @param src        Array with the points to transform
+     * @param srcOffset  Index of the first source value
+     * @param dest       Array to store the transformed points
+     * @param destOffset Index of the first destination value
+     * @param count      Number of points
+     */
+    public void transform(float m00, float m01, float m02, float m10, float m11, float m12,
+                          float[] src, int srcOffset, float[] dest, int destOffset, int count);
+
+    /**
+     * Transforms points in a buffer with an affine transformation, starting at
+     * the current positions of the buffers. The positions don't get changed.
+     * Source and destination can be the same buffer.
+     *
+     * @param m00   Linear part, first row, first column
+     * @param m01   Linear part, first row, second column
+     * @param m02   Translation along the x coordinate
+     * @param m10   Linear part, second row, first column
+     * @param m11   Linear part, second row, second column
+     * @param m12   Translation along the y coordinate
+     * @param src   Buffer with the points to transform
+     * @param dest  Buffer to store the transformed points
+     * @param count Number of points
+     */
+    public void transform(float m00, float m01, float m02, float m10, float m11, float m12,
+                          FloatBuffer src, FloatBuffer dest, int count);
+
+    /**
+     * Integrates positions by adding their velocities multiplied by the
+     * time difference.
+     *
+     * @param positions  Array with the positions
+     * @param velocities Array with the velocities
+     * @param offset     Index of the first value in both arrays
+     * @param length     Number of values
+     * @param delta      Time difference in seconds
+     */
+    public void integrate(float[] positions, float[] velocities, int offset, int length, float delta);
+
+    /**
+     * Integrates positions by adding their velocities multiplied by the
+     * time difference, starting at the current positions of the buffers. The
+     * positions of the buffers don't get changed.
+     *
+     * @param positions  Buffer with the positions
+     * @param velocities Buffer with the velocities
+     * @param length     Number of values
+     * @param delta      Time difference in seconds
+     */
+    public void integrate(FloatBuffer positions, FloatBuffer velocities, int length, float delta);
+
+    /**
+     * Checks which boxes intersect a given box. Touching boxes count as
+     * intersecting, like in <code>AABB.intersects(AABB)</code>.
+     *
+     * @param minX   Minimum x coordinate of the box
+     * @param minY   Minimum y coordinate of the box
+     * @param maxX   Maximum x coordinate of the box
+     * @param maxY   Maximum y coordinate of the box
+     * @param minXs  Minimum x coordinates of the other boxes
+     * @param minYs  Minimum y coordinates of the other boxes
+     * @param maxXs  Maximum x coordinates of the other boxes
+     * @param maxYs  Maximum y coordinates of the other boxes
+     * @param offset Index of the first box
+     * @param count  Number of boxes
+     * @param result Array to store the results, at the same index as the
+     *               boxes
+     *
+     * @return Number of intersecting boxes
+     */
+    public int overlaps(float minX, float minY, float maxX, float maxY,
+                        float[] minXs, float[] minYs, float[] maxXs, float[] maxYs,
+                        int offset, int count, boolean[] result);
+
+}
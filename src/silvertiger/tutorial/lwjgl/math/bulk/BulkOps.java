@@ -0,0 +1,197 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.math.bulk;
+
+import java.nio.FloatBuffer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import silvertiger.tutorial.lwjgl.math.Matrix3x2f;
+import silvertiger.tutorial.lwjgl.math.Matrix4f;
+
+/**
+ * This class provides bulk operations for particle and entity updates. If the
+ * incubating Vector API is available the operations run with the SIMD width
+ * of the CPU, else they use plain loops. The Vector API needs the JVM option
+ * <code>--add-modules jdk.incubator.vector</code>, which gets added by the
+ * build script on Java 16 and newer.
+ *
+ * @author Heiko Brumme
+ */
+public class BulkOps {
+
+    /**
+     * Name of the kernels that use the Vector API.
+     */
+    private static final String VECTOR_KERNELS = "silvertiger.tutorial.lwjgl.math.bulk.VectorKernels";
+
+    private static final BulkKernels KERNELS = loadKernels();
+
+    /**
+     * Loads the vectorized kernels if possible, else the scalar kernels.
+     *
+     * @return The kernels to use
+     */
+    private static BulkKernels loadKernels() {
+        try {
+            return (BulkKernels) Class.forName(VECTOR_KERNELS).getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException | LinkageError ex) {
+            /* Either not compiled or the module is missing at runtime */
+            return new ScalarKernels();
+        } catch (ReflectiveOperationException ex) {
+            Logger.getLogger(BulkOps.class.getName()).log(Level.SEVERE, null, ex);
+            return new ScalarKernels();
+        }
+    }
+
+    /**
+     * Gets the kernels used by the bulk operations.
+     *
+     * @return The kernels in use
+     */
+    public static BulkKernels getKernels() {
+        return KERNELS;
+    }
+
+    /**
+     * Checks if the bulk operations use the Vector API.
+     *
+     * @return true if the operations are vectorized
+     */
+    public static boolean isVectorized() {
+        return !(KERNELS instanceof ScalarKernels);
+    }
+
+    /**
+     * Transforms an array of points with an affine transformation. Source and
+     * destination can be the same array with the same offset.
+     *
+     * @param transform  The transformation
+     * @param src        Array with the points to transform
+     * @param srcOffset  Index of the first source value
+     * @param dest       Array to store the transformed points
+     * @param destOffset Index of the first destination value
+     * @param count      Number of points
+     */
+    public static void transform(Matrix3x2f transform, float[] src, int srcOffset, float[] dest, int destOffset, int count) {
+        KERNELS.transform(transform.get(0, 0), transform.get(0, 1), transform.get(0, 2),
+                          transform.get(1, 0), transform.get(1, 1), transform.get(1, 2), src, srcOffset, dest, destOffset, count);
+    }
+
+    /**
+     * Transforms an array of points in the xy plane with a matrix. The
+     * points get treated as (x, y, 0, 1), the results are the x and y values
+     * of the product, so the matrix should be affine.
+     *
+     * @param matrix     The matrix
+     * @param src        Array with the points to transform
+     * @param srcOffset  Index of the first source value
+     * @param dest       Array to store the transformed points
+     * @param destOffset Index of the first destination value
+     * @param count      Number of points
+     */
+    public static void transform(Matrix4f matrix, float[] src, int srcOffset, float[] dest, int destOffset, int count) {
+        KERNELS.transform(matrix.get(0, 0), matrix.get(0, 1), matrix.get(0, 3),
+                          matrix.get(1, 0), matrix.get(1, 1), matrix.get(1, 3), src, srcOffset, dest, destOffset, count);
+    }
+
+    /**
+     * Transforms points in a buffer with an affine transformation, starting at
+     * the current positions of the buffers. The positions don't get changed.
+     *
+     * @param transform The transformation
+     * @param src       Buffer with the points to transform
+     * @param dest      Buffer to store the transformed points
+     * @param count     Number of points
+     */
+    public static void transform(Matrix3x2f transform, FloatBuffer src, FloatBuffer dest, int count) {
+        KERNELS.transform(transform.get(0, 0), transform.get(0, 1), transform.get(0, 2),
+                          transform.get(1, 0), transform.get(1, 1), transform.get(1, 2), src, dest, count);
+    }
+
+    /**
+     * Transforms points in the xy plane in a buffer with a matrix, starting at
+     * the current positions of the buffers. The positions don't get changed.
+     *
+     * @param matrix The matrix
+     * @param src    Buffer with the points to transform
+     * @param dest   Buffer to store the transformed points
+     * @param count  Number of points
+     */
+    public static void transform(Matrix4f matrix, FloatBuffer src, FloatBuffer dest, int count) {
+        KERNELS.transform(matrix.get(0, 0), matrix.get(0, 1), matrix.get(0, 3),
+                          matrix.get(1, 0), matrix.get(1, 1), matrix.get(1, 3), src, dest, count);
+    }
+
+    /**
+     * Integrates positions by adding their velocities multiplied by the
+     * time difference.
+     *
+     * @param positions  Array with the positions
+     * @param velocities Array with the velocities
+     * @param offset     Index of the first value in both arrays
+     * @param length     Number of values
+     * @param delta      Time difference in seconds
+     */
+    public static void integrate(float[] positions, float[] velocities, int offset, int length, float delta) {
+        KERNELS.integrate(positions, velocities, offset, length, delta);
+    }
+
+    /**
+     * Integrates positions by adding their velocities multiplied by the
+     * time difference, starting at the current positions of the buffers.
+     *
+     * @param positions  Buffer with the positions
+     * @param velocities Buffer with the velocities
+     * @param length     Number of values
+     * @param delta      Time difference in seconds
+     */
+    public static void integrate(FloatBuffer positions, FloatBuffer velocities, int length, float delta) {
+        KERNELS.integrate(positions, velocities, length, delta);
+    }
+
+    /**
+     * Checks which boxes intersect a given box.
+     *
+     * @param minX   Minimum x coordinate of the box
+     * @param minY   Minimum y coordinate of the box
+     * @param maxX   Maximum x coordinate of the box
+     * @param maxY   Maximum y coordinate of the box
+     * @param minXs  Minimum x coordinates of the other boxes
+     * @param minYs  Minimum y coordinates of the other boxes
+     * @param maxXs  Maximum x coordinates of the other boxes
+     * @param maxYs  Maximum y coordinates of the other boxes
+     * @param offset Index of the first box
+     * @param count  Number of boxes
+     * @param result Array to store the results, at the same index as the
+     *               boxes
+     *
+     * @return Number of intersecting boxes
+     */
+    public static int overlaps(float minX, float minY, float maxX, float maxY,
+                               float[] minXs, float[] minYs, float[] maxXs, float[] maxYs,
+                               int offset, int count, boolean[] result) {
+        return KERNELS.overlaps(minX, minY, maxX, maxY, minXs, minYs, maxXs, maxYs, offset, count, result);
+    }
+
+}
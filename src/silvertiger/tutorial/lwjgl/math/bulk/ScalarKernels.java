@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright © 2018, Heiko Brumme
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package silvertiger.tutorial.lwjgl.math.bulk;
+
+import java.nio.FloatBuffer;
+
+/**
+ * Bulk kernels written as plain loops. These are used when the Vector API is
+ * not available and for the remainders of the vectorized kernels.
+ *
+ * @author Heiko Brumme
+ */
+public class ScalarKernels implements BulkKernels {
+
+    @Override
+    public void transform(float m00, float m01, float m02, float m10, float m11, float m12,
+                          float[] src, int srcOffset, float[] dest, int destOffset, int count) {
+        for (int i = 0; i < count; i++) {
+            float x = src[srcOffset++];
+            float y = src[srcOffset++];
+            dest[destOffset++] = m00 * x + m01 * y + m02;
+            dest[destOffset++] = m10 * x + m11 * y + m12;
+        }
+    }
+
+    @Override
+    public void transform(float m00, float m01, float m02, float m10, float m11, float m12,
+                          FloatBuffer src, FloatBuffer dest, int count) {
+        int srcIndex = src.position();
+        int destIndex = dest.position();
+        for (int i = 0; i < count; i++) {
+            float x = src.get(srcIndex++);
+            float y = src.get(srcIndex++);
+            dest.put(destIndex++, m00 * x + m01 * y + m02);
+            dest.put(destIndex++, m10 * x + m11 * y + m12);
+        }
+    }
+
+    @Override
+    public void integrate(float[] positions, float[] velocities, int offset, int length, float delta) {
+        for (int i = offset; i < offset + length; i++) {
+            positions[i] += velocities[i] * delta;
+        }
+    }
+
+    @Override
+    public void integrate(FloatBuffer positions, FloatBuffer velocities, int length, float delta) {
+        int positionIndex = positions.position();
+        int velocityIndex = velocities.position();
+        for (int i = 0; i < length; i++) {
+            float position = positions.get(positionIndex + i);
+            positions.put(positionIndex + i, position + velocities.get(velocityIndex + i) * delta);
+        }
+    }
+
+    @Override
+    public int overlaps(float minX, float minY, float maxX, float maxY,
+                        float[] minXs, float[] minYs, float[] maxXs, float[] maxYs,
+                        int offset, int count, boolean[] result) {
+        int hits = 0;
+        for (int i = offset; i < offset + count; i++) {
+            boolean hit = !(maxX < minXs[i] || maxY < minYs[i] || minX > maxXs[i] || minY > maxYs[i]);
+            result[i] = hit;
+            if (hit) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+}
@@ -31,6 +31,7 @@
 import silvertiger.tutorial.lwjgl.graphic.Color;
 import silvertiger.tutorial.lwjgl.graphic.Renderer;
 import silvertiger.tutorial.lwjgl.graphic.Texture;
+import silvertiger.tutorial.lwjgl.math.FastRandom;
 
 import static org.lwjgl.opengl.GL11.glClearColor;
 
@@ -49,6 +50,7 @@ public class GameState implements State {
 
     private Texture texture;
     private final Renderer renderer;
+    private final FastRandom random = new FastRandom();
 
     private Paddle player;
     private Paddle opponent;
@@ -99,12 +101,10 @@ public void render(float alpha) {
         renderer.clear();
 
         /* Draw game objects */
-        texture.bind();
         renderer.begin();
         player.render(renderer, alpha);
         opponent.render(renderer, alpha);
         ball.render(renderer, alpha);
-        renderer.end();
 
         /* Draw score */
         String scoreText = "Score";
@@ -127,6 +127,7 @@ public void render(float alpha) {
         float opponentTextX = gameWidth / 2f + 50;
         float opponentTextY = scoreTextY - opponentTextHeight;
         renderer.drawText(opponentText, opponentTextX, opponentTextY, Color.BLACK);
+        renderer.end();
     }
 
     @Override
@@ -149,7 +150,7 @@ public void enter() {
         float speed = 250f;
         player = new Paddle(Color.GREEN, texture, 5f, (height - 100) / 2f, speed, true);
         opponent = new Paddle(Color.RED, texture, width - 25f, (height - 100) / 2f, speed, false);
-        ball = new Ball(Color.BLUE, texture, (width - 20) / 2f, (height - 20) / 2f, speed * 1.5f);
+        ball = new Ball(Color.BLUE, texture, (width - 20) / 2f, (height - 20) / 2f, speed * 1.5f, random);
 
         /* Initialize variables */
         playerScore = 0;
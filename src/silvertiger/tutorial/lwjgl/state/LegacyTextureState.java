@@ -27,8 +27,9 @@
 import java.nio.IntBuffer;
 import org.lwjgl.glfw.GLFW;
 import org.lwjgl.system.MemoryStack;
-import silvertiger.tutorial.lwjgl.graphic.Shader;
+import silvertiger.tutorial.lwjgl.graphic.Camera;
 import silvertiger.tutorial.lwjgl.graphic.ShaderProgram;
+import silvertiger.tutorial.lwjgl.graphic.ShaderRegistry;
 import silvertiger.tutorial.lwjgl.graphic.Texture;
 import silvertiger.tutorial.lwjgl.graphic.VertexBufferObject;
 import silvertiger.tutorial.lwjgl.math.Matrix4f;
@@ -41,8 +42,6 @@
 import static org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER;
 import static org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER;
 import static org.lwjgl.opengl.GL15.GL_STATIC_DRAW;
-import static org.lwjgl.opengl.GL20.GL_FRAGMENT_SHADER;
-import static org.lwjgl.opengl.GL20.GL_VERTEX_SHADER;
 
 /**
  * This state is for the texture tutorial.
@@ -54,8 +53,6 @@ public class LegacyTextureState implements State {
     private VertexBufferObject vbo;
     private VertexBufferObject ebo;
     private Texture texture;
-    private Shader vertexShader;
-    private Shader fragmentShader;
     private ShaderProgram program;
 
     @Override
@@ -130,15 +127,8 @@ public void enter() {
             ebo.uploadData(GL_ELEMENT_ARRAY_BUFFER, elements, GL_STATIC_DRAW);
         }
 
-        /* Load shaders */
-        vertexShader = Shader.loadShader(GL_VERTEX_SHADER, "resources/legacy.vert");
-        fragmentShader = Shader.loadShader(GL_FRAGMENT_SHADER, "resources/legacy.frag");
-
-        /* Create shader program */
-        program = new ShaderProgram();
-        program.attachShader(vertexShader);
-        program.attachShader(fragmentShader);
-        program.link();
+        /* Get the shared shader program, the renderer uses the same one */
+        program = ShaderRegistry.get().acquire("resources/sprite.vert", null, "resources/sprite.frag", null);
         program.use();
 
         specifyVertexAttributes();
@@ -147,20 +137,13 @@ public void enter() {
         int uniTex = program.getUniformLocation("texImage");
         program.setUniform(uniTex, 0);
 
-        /* Set model matrix to identity matrix */
-        Matrix4f model = new Matrix4f();
-        int uniModel = program.getUniformLocation("model");
-        program.setUniform(uniModel, model);
-
-        /* Set view matrix to identity matrix */
-        Matrix4f view = new Matrix4f();
-        int uniView = program.getUniformLocation("view");
-        program.setUniform(uniView, view);
+        /* Model and view are identity matrices, the projection is orthographic */
+        Camera camera = new Camera();
+        camera.setProjection(Matrix4f.orthographic(0f, width, 0f, height, -1f, 1f));
 
-        /* Set projection matrix to an orthographic projection */
-        Matrix4f projection = Matrix4f.orthographic(0f, width, 0f, height, -1f, 1f);
-        int uniProjection = program.getUniformLocation("projection");
-        program.setUniform(uniProjection, projection);
+        /* Set the combined matrix */
+        int uniMVP = program.getUniformLocation("mvp");
+        program.setUniform(uniMVP, camera.getMVP());
     }
 
     @Override
@@ -168,9 +151,7 @@ public void exit() {
         vbo.delete();
         ebo.delete();
         texture.delete();
-        vertexShader.delete();
-        fragmentShader.delete();
-        program.delete();
+        ShaderRegistry.get().release(program);
     }
 
     /**
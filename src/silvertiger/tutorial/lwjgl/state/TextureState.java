@@ -27,8 +27,10 @@
 import java.nio.IntBuffer;
 import org.lwjgl.glfw.GLFW;
 import org.lwjgl.system.MemoryStack;
-import silvertiger.tutorial.lwjgl.graphic.Shader;
+import silvertiger.tutorial.lwjgl.graphic.Camera;
+import silvertiger.tutorial.lwjgl.graphic.MatrixBlock;
 import silvertiger.tutorial.lwjgl.graphic.ShaderProgram;
+import silvertiger.tutorial.lwjgl.graphic.ShaderRegistry;
 import silvertiger.tutorial.lwjgl.graphic.Texture;
 import silvertiger.tutorial.lwjgl.graphic.VertexArrayObject;
 import silvertiger.tutorial.lwjgl.graphic.VertexBufferObject;
@@ -42,8 +44,6 @@
 import static org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER;
 import static org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER;
 import static org.lwjgl.opengl.GL15.GL_STATIC_DRAW;
-import static org.lwjgl.opengl.GL20.GL_FRAGMENT_SHADER;
-import static org.lwjgl.opengl.GL20.GL_VERTEX_SHADER;
 
 /**
  * This state is for the texture tutorial.
@@ -56,8 +56,6 @@ public class TextureState implements State {
     private VertexBufferObject vbo;
     private VertexBufferObject ebo;
     private Texture texture;
-    private Shader vertexShader;
-    private Shader fragmentShader;
     private ShaderProgram program;
 
     @Override
@@ -134,16 +132,8 @@ public void enter() {
             ebo.uploadData(GL_ELEMENT_ARRAY_BUFFER, elements, GL_STATIC_DRAW);
         }
 
-        /* Load shaders */
-        vertexShader = Shader.loadShader(GL_VERTEX_SHADER, "resources/default.vert");
-        fragmentShader = Shader.loadShader(GL_FRAGMENT_SHADER, "resources/default.frag");
-
-        /* Create shader program */
-        program = new ShaderProgram();
-        program.attachShader(vertexShader);
-        program.attachShader(fragmentShader);
-        program.bindFragmentDataLocation(0, "fragColor");
-        program.link();
+        /* Get the shared shader program, the renderer uses the same one */
+        program = ShaderRegistry.get().acquire("resources/sprite.vert", null, "resources/sprite.frag", "fragColor");
         program.use();
 
         specifyVertexAttributes();
@@ -152,20 +142,14 @@ public void enter() {
         int uniTex = program.getUniformLocation("texImage");
         program.setUniform(uniTex, 0);
 
-        /* Set model matrix to identity matrix */
-        Matrix4f model = new Matrix4f();
-        int uniModel = program.getUniformLocation("model");
-        program.setUniform(uniModel, model);
-
-        /* Set view matrix to identity matrix */
-        Matrix4f view = new Matrix4f();
-        int uniView = program.getUniformLocation("view");
-        program.setUniform(uniView, view);
+        /* Model and view are identity matrices, the projection is orthographic */
+        Camera camera = new Camera();
+        camera.setProjection(Matrix4f.orthographic(0f, width, 0f, height, -1f, 1f));
 
-        /* Set projection matrix to an orthographic projection */
-        Matrix4f projection = Matrix4f.orthographic(0f, width, 0f, height, -1f, 1f);
-        int uniProjection = program.getUniformLocation("projection");
-        program.setUniform(uniProjection, projection);
+        /* The combined matrix is in the uniform block shared by all programs */
+        MatrixBlock matrices = MatrixBlock.get();
+        matrices.bind(program);
+        matrices.setMVP(camera);
     }
 
     @Override
@@ -174,9 +158,7 @@ public void exit() {
         vbo.delete();
         ebo.delete();
         texture.delete();
-        vertexShader.delete();
-        fragmentShader.delete();
-        program.delete();
+        ShaderRegistry.get().release(program);
     }
 
     /**
@@ -355,7 +355,8 @@ public int getHeight(CharSequence text) {
     }
 
     /**
-     * Draw text at the specified position and color.
+     * Draw text at the specified position and color. If the renderer is
+     * already drawing, the text gets added to the current batch.
      *
      * @param renderer The renderer to use
      * @param text     Text to draw
@@ -372,8 +373,10 @@ public void drawText(Renderer renderer, CharSequence text, float x, float y, Col
             drawY += textHeight - fontHeight;
         }
 
-        texture.bind();
-        renderer.begin();
+        boolean drawing = renderer.isDrawing();
+        if (!drawing) {
+            renderer.begin();
+        }
         for (int i = 0; i < text.length(); i++) {
             char ch = text.charAt(i);
             if (ch == '\n') {
@@ -390,7 +393,9 @@ public void drawText(Renderer renderer, CharSequence text, float x, float y, Col
             renderer.drawTextureRegion(texture, drawX, drawY, g.x, g.y, g.width, g.height, c);
             drawX += g.width;
         }
-        renderer.end();
+        if (!drawing) {
+            renderer.end();
+        }
     }
 
     /**